@@ -0,0 +1,50 @@
+package com.example.terry.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Runs every throughput benchmark at several thread counts with the gc profiler, which reports the allocation rate.
+ * The results of each thread count are written to {@code jmh-result-<threads>.json}.
+ * The startup benchmarks measure a cold JVM, where the thread count means nothing, so they run once on their own
+ * and their results are written to {@code jmh-result-startup.json}.
+ * If any argument is given, the standard JMH command line is used instead.
+ */
+public class BenchmarkRunner {
+	private static final int[] THREADS = {1, 2, 4, 8};
+
+	private static final String BENCHMARKS = "com\\.example\\.terry\\.benchmark\\..*Benchmark";
+	private static final String STARTUP_BENCHMARKS = "com\\.example\\.terry\\.benchmark\\.StartupBenchmark";
+
+	public static void main(String... args) throws RunnerException, IOException {
+		if (args.length > 0) {
+			org.openjdk.jmh.Main.main(args);
+			return;
+		}
+
+		for (final int threads : THREADS) {
+			final Options options = new OptionsBuilder()
+					.include(BENCHMARKS)
+					.exclude(STARTUP_BENCHMARKS)
+					.threads(threads)
+					.addProfiler(GCProfiler.class)
+					.resultFormat(ResultFormatType.JSON)
+					.result("jmh-result-" + threads + ".json")
+					.build();
+			new Runner(options).run();
+		}
+
+		final Options startup = new OptionsBuilder()
+				.include(STARTUP_BENCHMARKS)
+				.resultFormat(ResultFormatType.JSON)
+				.result("jmh-result-startup.json")
+				.build();
+		new Runner(startup).run();
+	}
+}
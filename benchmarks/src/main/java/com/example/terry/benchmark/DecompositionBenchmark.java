@@ -0,0 +1,72 @@
+package com.example.terry.benchmark;
+
+import com.example.terry.KoreanCharacter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of decomposing a whole roster of syllables into the ordinals of their jamo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DecompositionBenchmark {
+	/**
+	 * Names of three syllables separated by spaces, as in a roster.
+	 */
+	private final char[] characters = new char[64 * 1024];
+
+	private final byte[] chosungs = new byte[characters.length];
+	private final byte[] jungsungs = new byte[characters.length];
+	private final byte[] jongsungs = new byte[characters.length];
+
+	@Setup
+	public void setUp() {
+		final Random random = new Random(0);
+		for (int i = 0; i < characters.length; i++) {
+			characters[i] = (i % 4 == 3) ? ' '
+					: (char) (KoreanCharacter.KoreanLowerValue + random.nextInt(KoreanCharacter.KoreanUpperValue - KoreanCharacter.KoreanLowerValue + 1));
+		}
+	}
+
+	/**
+	 * One syllable at a time through the shared instances, as before the bulk decomposition.
+	 */
+	@Benchmark
+	public byte[] eachCharacter() {
+		for (int i = 0; i < characters.length; i++) {
+			final KoreanCharacter character = KoreanCharacter.of(characters[i]);
+			if (character.isKoreanCharacter()) {
+				chosungs[i] = (byte) character.getChosung().ordinal();
+				jungsungs[i] = (byte) character.getJungsung().ordinal();
+				jongsungs[i] = (byte) character.getJongsung().ordinal();
+			} else {
+				chosungs[i] = -1;
+				jungsungs[i] = -1;
+				jongsungs[i] = -1;
+			}
+		}
+		return jongsungs;
+	}
+
+	/**
+	 * Without the Vector API module, which is the scalar loop.
+	 */
+	@Benchmark
+	public byte[] decompose() {
+		KoreanCharacter.decompose(characters, 0, characters.length, chosungs, jungsungs, jongsungs);
+		return jongsungs;
+	}
+
+	@Benchmark
+	@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+	public byte[] decomposeVectorized() {
+		KoreanCharacter.decompose(characters, 0, characters.length, chosungs, jungsungs, jongsungs);
+		return jongsungs;
+	}
+}
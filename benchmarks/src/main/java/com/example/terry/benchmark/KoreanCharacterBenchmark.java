@@ -0,0 +1,45 @@
+package com.example.terry.benchmark;
+
+import com.example.terry.KoreanCharacter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of handling a single Hangul syllable.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class KoreanCharacterBenchmark {
+	private final char[] characters = "박지성남궁민수값어치".toCharArray();
+
+	private int index;
+
+	private char nextCharacter() {
+		index = (index + 1) % characters.length;
+		return characters[index];
+	}
+
+	@Benchmark
+	public KoreanCharacter construct() {
+		return new KoreanCharacter(nextCharacter());
+	}
+
+	@Benchmark
+	public KoreanCharacter of() {
+		return KoreanCharacter.of(nextCharacter());
+	}
+
+	@Benchmark
+	public List<String> getRomanizedString() {
+		final KoreanCharacter prevCharacter = KoreanCharacter.of(nextCharacter());
+		final KoreanCharacter currentCharacter = KoreanCharacter.of(nextCharacter());
+		final KoreanCharacter nextCharacter = KoreanCharacter.of(nextCharacter());
+		return currentCharacter.getRomanizedString(prevCharacter, nextCharacter);
+	}
+}
@@ -0,0 +1,142 @@
+package com.example.terry.benchmark;
+
+import com.example.terry.KoreanRomanizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of romanizing whole names through the public API.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class KoreanRomanizerBenchmark {
+	/**
+	 * {@code 빛} is not a surname, so the whole name goes through the given name romanization.
+	 */
+	private String givenName = "빛나리";
+
+	private String singleSurname = "박지성";
+
+	/**
+	 * Matches the double surname pattern and also goes through the single surname path.
+	 */
+	private String doubleSurname = "남궁민수";
+
+	private String longGivenName = "김수한무거북이와두루미";
+
+	/**
+	 * The single surname name in NFD, as in file names from macOS.
+	 */
+	private String decomposedName = Normalizer.normalize(singleSurname, Normalizer.Form.NFD);
+
+	/**
+	 * A free-text field mixing Hangul, digits, Latin letters and punctuation.
+	 */
+	private String mixedText = "서울특별시 강남구 테헤란로 152, 3층 (역삼동) 담당: J.K. 박지성 010-1234-5678";
+
+	/**
+	 * The same text as UTF-8, as it arrives in a message.
+	 */
+	private ByteBuffer mixedTextUtf8 = ByteBuffer.wrap(mixedText.getBytes(StandardCharsets.UTF_8));
+
+	/**
+	 * The same UTF-8 text off the heap, as in a memory-mapped file.
+	 */
+	private MemorySegment mixedTextSegment = Arena.ofAuto().allocate(mixedTextUtf8.remaining()).copyFrom(MemorySegment.ofBuffer(mixedTextUtf8));
+
+	@Benchmark
+	public List<String> givenName() {
+		return KoreanRomanizer.romanizeSurName(givenName);
+	}
+
+	@Benchmark
+	public List<String> singleSurname() {
+		return KoreanRomanizer.romanizeSurName(singleSurname);
+	}
+
+	@Benchmark
+	public List<String> doubleSurname() {
+		return KoreanRomanizer.romanizeSurName(doubleSurname);
+	}
+
+	@Benchmark
+	public List<String> longGivenName() {
+		return KoreanRomanizer.romanizeSurName(longGivenName);
+	}
+
+	@Benchmark
+	public void longGivenNameVisitor(Buffer buffer, Blackhole blackhole) {
+		KoreanRomanizer.romanizeSurName(longGivenName, buffer.builder, blackhole::consume);
+	}
+
+	@Benchmark
+	public List<String> decomposedName() {
+		return KoreanRomanizer.romanizeSurName(decomposedName);
+	}
+
+	/**
+	 * Composing with {@link Normalizer} first, to compare with {@link #decomposedName()}.
+	 */
+	@Benchmark
+	public List<String> decomposedNameNormalizer() {
+		return KoreanRomanizer.romanizeSurName(Normalizer.normalize(decomposedName, Normalizer.Form.NFC));
+	}
+
+	@Benchmark
+	public StringBuilder mixedText(Buffer buffer) throws IOException {
+		buffer.builder.setLength(0);
+		KoreanRomanizer.romanizeText(mixedText, buffer.builder);
+		return buffer.builder;
+	}
+
+	/**
+	 * The same romanization without decoding, to compare with {@link #mixedTextDecoded(Buffer)}.
+	 */
+	@Benchmark
+	public ByteBuffer mixedTextUtf8(Buffer buffer) {
+		buffer.bytes.clear();
+		KoreanRomanizer.romanizeUtf8(mixedTextUtf8.duplicate(), buffer.bytes);
+		return buffer.bytes;
+	}
+
+	/**
+	 * The same romanization between memory segments, to compare with {@link #mixedTextUtf8(Buffer)}.
+	 */
+	@Benchmark
+	public long mixedTextSegment(Buffer buffer) {
+		return KoreanRomanizer.romanizeUtf8(mixedTextSegment, buffer.segment);
+	}
+
+	/**
+	 * Decoding the UTF-8 text to a string and encoding the romanized text back.
+	 */
+	@Benchmark
+	public byte[] mixedTextDecoded(Buffer buffer) throws IOException {
+		buffer.builder.setLength(0);
+		KoreanRomanizer.romanizeText(StandardCharsets.UTF_8.decode(mixedTextUtf8.duplicate()), buffer.builder);
+		return buffer.builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * The reusable buffer of each thread for the visitor benchmarks.
+	 */
+	@State(Scope.Thread)
+	public static class Buffer {
+		final StringBuilder builder = new StringBuilder();
+		final ByteBuffer bytes = ByteBuffer.allocate(1024);
+		final MemorySegment segment = Arena.ofAuto().allocate(1024);
+	}
+}
@@ -0,0 +1,39 @@
+package com.example.terry.benchmark;
+
+import com.example.terry.KoreanRomanizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the first romanization in a fresh JVM, which includes loading and initializing the romanizer,
+ * as paid by short-lived batch jobs and serverless functions on every cold start.
+ * Each fork measures a single call, so the score is the average over the forks.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+	private String name = "박지성";
+
+	/**
+	 * With the tables generated at build time.
+	 */
+	@Benchmark
+	public List<String> firstRomanization() {
+		return KoreanRomanizer.romanizeSurName(name);
+	}
+
+	/**
+	 * With the tables compiled from the rules at runtime, as when the generated tables are missing.
+	 */
+	@Benchmark
+	@Fork(value = 20, jvmArgsAppend = "-Dcom.example.terry.precomputedTables=false")
+	public List<String> firstRomanizationWithoutGeneratedTables() {
+		return KoreanRomanizer.romanizeSurName(name);
+	}
+}
@@ -0,0 +1,104 @@
+package com.example.terry.server;
+
+import com.example.terry.KoreanRomanizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Collects the names of concurrent requests and romanizes them in batches on a fixed set of worker threads.
+ * <p>
+ * Request handlers run on virtual threads, which are cheap to block but should not all run CPU-bound work at once.
+ * They only queue their names and wait, while each worker takes every name queued so far, up to {@value #MAX_BATCH_SIZE},
+ * and romanizes them back to back. A worker never waits for a batch to fill,
+ * so a lone request is served immediately and batches only grow under load.
+ */
+final class MicroBatcher implements AutoCloseable {
+	/**
+	 * The maximum number of names romanized by a worker at once.
+	 */
+	static final int MAX_BATCH_SIZE = 256;
+
+	/**
+	 * The maximum number of queued names, beyond which handlers wait before queueing more.
+	 */
+	private static final int QUEUE_CAPACITY = 65536;
+
+	private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+	private final ExecutorService workers;
+	private final int maxCandidates;
+
+	/**
+	 * Constructor
+	 *
+	 * @param workers the number of worker threads.
+	 * @param maxCandidates the budget of {@link KoreanRomanizer#romanizeSurName(String, int)} for each name.
+	 */
+	MicroBatcher(int workers, int maxCandidates) {
+		this.maxCandidates = maxCandidates;
+		this.workers = Executors.newFixedThreadPool(workers, runnable -> {
+			final Thread thread = new Thread(runnable, "romanizer-batcher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		for (int i = 0; i < workers; i++) {
+			this.workers.execute(this::work);
+		}
+	}
+
+	/**
+	 * Queues a name, waiting if the queue is full.
+	 *
+	 * @param name the name to romanize.
+	 * @return the future of the romanized names.
+	 * @throws InterruptedException if the thread is interrupted while waiting.
+	 */
+	CompletableFuture<List<String>> submit(String name) throws InterruptedException {
+		final Request request = new Request(name);
+		queue.put(request);
+		return request.future;
+	}
+
+	private void work() {
+		final List<Request> batch = new ArrayList<>(MAX_BATCH_SIZE);
+		try {
+			while (true) {
+				batch.add(queue.take());
+				queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+				for (final Request request : batch) {
+					romanize(request);
+				}
+				batch.clear();
+			}
+		} catch (InterruptedException e) {
+			// Closed.
+		}
+	}
+
+	private void romanize(Request request) {
+		try {
+			request.future.complete(KoreanRomanizer.romanizeSurName(request.name, maxCandidates));
+		} catch (RuntimeException e) {
+			request.future.completeExceptionally(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		workers.shutdownNow();
+	}
+
+	private static final class Request {
+		final String name;
+		final CompletableFuture<List<String>> future = new CompletableFuture<>();
+
+		Request(String name) {
+			this.name = name;
+		}
+	}
+}
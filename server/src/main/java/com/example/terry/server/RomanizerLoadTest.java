@@ -0,0 +1,130 @@
+package com.example.terry.server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sends single-name requests to a {@link RomanizerServer} from many concurrent clients, and reports the throughput and latencies.
+ * Each client is a virtual thread sending its next request as soon as the previous one is answered.
+ *
+ * <pre>
+ * java -cp romanizer-server.jar com.example.terry.server.RomanizerLoadTest [--url http://localhost:8080] [--clients 256] [--seconds 10]
+ * </pre>
+ */
+public final class RomanizerLoadTest {
+	private static final String USAGE = "Usage: RomanizerLoadTest [--url http://localhost:8080] [--clients 256] [--seconds 10]";
+
+	private static final String[] SURNAMES = {"김", "이", "박", "최", "정", "강", "조", "윤", "장", "임", "남궁", "황보", "선우"};
+	private static final String[] SYLLABLES = {"민", "서", "지", "현", "수", "영", "준", "하", "은", "우", "진", "빛", "나", "리", "성", "혜"};
+
+	public static void main(String... args) throws Exception {
+		String url = "http://localhost:8080";
+		int clients = 256;
+		int seconds = 10;
+
+		try {
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+					case "--url":
+						url = args[++i];
+						break;
+					case "--clients":
+						clients = Integer.parseInt(args[++i]);
+						break;
+					case "--seconds":
+						seconds = Integer.parseInt(args[++i]);
+						break;
+					default:
+						throw new IllegalArgumentException(args[i]);
+				}
+			}
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			clients = 0;
+		}
+		if (clients < 1 || seconds < 1) {
+			System.err.println(USAGE);
+			System.exit(2);
+			return;
+		}
+
+		final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		final String endpoint = url + "/romanize?name=";
+		final long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+		final List<Future<long[]>> latencies = new ArrayList<>(clients);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < clients; i++) {
+				latencies.add(executor.submit(() -> run(client, endpoint, deadline)));
+			}
+		}
+
+		int count = 0;
+		long[] all = new long[1024];
+		for (final Future<long[]> future : latencies) {
+			final long[] clientLatencies = future.get();
+			if (count + clientLatencies.length > all.length) {
+				all = Arrays.copyOf(all, Math.max(all.length * 2, count + clientLatencies.length));
+			}
+			System.arraycopy(clientLatencies, 0, all, count, clientLatencies.length);
+			count += clientLatencies.length;
+		}
+		Arrays.sort(all, 0, count);
+
+		System.out.printf("%,d requests, %,.0f requests/sec%n", count, count / (double) seconds);
+		if (count > 0) {
+			System.out.printf("latency p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+					percentile(all, count, 0.5), percentile(all, count, 0.99), percentile(all, count, 0.999), all[count - 1] / 1e6);
+		}
+	}
+
+	/**
+	 * Sends requests until the deadline.
+	 *
+	 * @return the latency of every request, in nanoseconds.
+	 */
+	private static long[] run(HttpClient client, String endpoint, long deadline) throws IOException, InterruptedException {
+		long[] latencies = new long[1024];
+		int count = 0;
+		while (System.nanoTime() < deadline) {
+			final HttpRequest request = HttpRequest.newBuilder(URI.create(endpoint + URLEncoder.encode(randomName(), StandardCharsets.UTF_8))).build();
+			final long start = System.nanoTime();
+			final HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+			final long latency = System.nanoTime() - start;
+			if (response.statusCode() != 200) {
+				throw new IOException("Unexpected status " + response.statusCode());
+			}
+
+			if (count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = latency;
+		}
+		return Arrays.copyOf(latencies, count);
+	}
+
+	private static String randomName() {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final StringBuilder name = new StringBuilder(SURNAMES[random.nextInt(SURNAMES.length)]);
+		final int syllables = 1 + random.nextInt(2);
+		for (int i = 0; i < syllables; i++) {
+			name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+		}
+		return name.toString();
+	}
+
+	private static double percentile(long[] sorted, int count, double percentile) {
+		return sorted[Math.min(count - 1, (int) (count * percentile))] / 1e6;
+	}
+}
@@ -0,0 +1,309 @@
+package com.example.terry.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+/**
+ * An HTTP service romanizing names with {@link com.example.terry.KoreanRomanizer}.
+ * <p>
+ * Each request is handled on its own virtual thread, and the names are romanized by a {@link MicroBatcher}.
+ * <ul>
+ * <li>{@code GET /romanize?name=박지성} or {@code POST /romanize} with the name as the body returns
+ * {@code {"name":"박지성","candidates":["PARK JISEONG",...]}}.</li>
+ * <li>{@code POST /romanize/batch} with one name per line returns a JSON array of the same objects in input order.
+ * The whole array is built before the status is sent, so a failure is reported as an error instead of a truncated array.</li>
+ * </ul>
+ * Bodies larger than {@value #MAX_NAME_BYTES} bytes for a name, or {@value #MAX_BATCH_BYTES} bytes for a batch,
+ * are rejected with status 413.
+ *
+ * <pre>
+ * java -jar romanizer-server.jar [--port 8080] [--workers N] [--max-candidates 1000]
+ * </pre>
+ */
+public final class RomanizerServer implements AutoCloseable {
+	private static final String USAGE = "Usage: RomanizerServer [--port 8080] [--workers N] [--max-candidates 1000]";
+
+	private static final String JSON = "application/json; charset=utf-8";
+
+	/**
+	 * The maximum size of the body of a single name, in bytes.
+	 */
+	static final int MAX_NAME_BYTES = 4096;
+
+	/**
+	 * The maximum size of the body of a batch, in bytes.
+	 */
+	static final int MAX_BATCH_BYTES = 1024 * 1024;
+
+	private final HttpServer server;
+	private final MicroBatcher batcher;
+
+	/**
+	 * Constructor
+	 *
+	 * @param port the port to listen on, or 0 for any free port.
+	 * @param workers the number of threads romanizing names.
+	 * @param maxCandidates the maximum number of romanized names returned for each name.
+	 * @throws IOException if the port cannot be bound.
+	 */
+	public RomanizerServer(int port, int workers, int maxCandidates) throws IOException {
+		this.batcher = new MicroBatcher(workers, maxCandidates);
+		this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+		server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		server.createContext("/romanize", this::handleSingle);
+		server.createContext("/romanize/batch", this::handleBatch);
+	}
+
+	public static void main(String... args) throws IOException {
+		int port = 8080;
+		int workers = Runtime.getRuntime().availableProcessors();
+		int maxCandidates = 1000;
+
+		try {
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+					case "--port":
+						port = Integer.parseInt(args[++i]);
+						break;
+					case "--workers":
+						workers = Integer.parseInt(args[++i]);
+						break;
+					case "--max-candidates":
+						maxCandidates = Integer.parseInt(args[++i]);
+						break;
+					default:
+						throw new IllegalArgumentException(args[i]);
+				}
+			}
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			workers = 0;
+		}
+		if (port < 0 || workers < 1 || maxCandidates < 0) {
+			System.err.println(USAGE);
+			System.exit(2);
+			return;
+		}
+
+		// The headers and the body are written separately, so with Nagle's algorithm every small response waits for a delayed ACK.
+		// The property is read when the first server is created, and is left to the application when the server is embedded.
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+
+		final RomanizerServer server = new RomanizerServer(port, workers, maxCandidates);
+		Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+		server.start();
+		System.err.printf("Listening on http://localhost:%d/romanize with %d workers%n", server.getPort(), workers);
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * @return the port the server listens on.
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	@Override
+	public void close() {
+		server.stop(1);
+		batcher.close();
+	}
+
+	private void handleSingle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			if (!exchange.getRequestURI().getPath().equals("/romanize")) {
+				sendError(exchange, 404, "Not found");
+				return;
+			}
+
+			final String name;
+			if (exchange.getRequestMethod().equals("GET")) {
+				name = queryParameter(exchange.getRequestURI().getRawQuery(), "name");
+			} else if (exchange.getRequestMethod().equals("POST")) {
+				final byte[] body = readBody(exchange, MAX_NAME_BYTES);
+				if (body == null) {
+					sendError(exchange, 413, "A name must not be larger than " + MAX_NAME_BYTES + " bytes");
+					return;
+				}
+				name = new String(body, StandardCharsets.UTF_8);
+			} else {
+				sendError(exchange, 405, "Use GET or POST");
+				return;
+			}
+			if (name == null) {
+				sendError(exchange, 400, "Missing name");
+				return;
+			}
+
+			final StringBuilder json = new StringBuilder(256);
+			try {
+				appendResult(json, name.trim(), await(submit(name.trim())));
+			} catch (ExecutionException e) {
+				sendError(exchange, 500, "Cannot romanize the name: " + e.getCause());
+				return;
+			}
+			sendJson(exchange, json);
+		}
+	}
+
+	/**
+	 * Romanizes the lines of the body in windows of {@link MicroBatcher#MAX_BATCH_SIZE} names:
+	 * a whole window is queued before its first result is awaited, so the names of one request are also romanized in batches.
+	 * The response is only sent once every name is romanized, so that a failure can still be reported with its status.
+	 */
+	private void handleBatch(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			if (!exchange.getRequestMethod().equals("POST")) {
+				sendError(exchange, 405, "Use POST with one name per line");
+				return;
+			}
+
+			final byte[] body = readBody(exchange, MAX_BATCH_BYTES);
+			if (body == null) {
+				sendError(exchange, 413, "A batch must not be larger than " + MAX_BATCH_BYTES + " bytes");
+				return;
+			}
+
+			final BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+			final List<String> names = new ArrayList<>(MicroBatcher.MAX_BATCH_SIZE);
+			final List<CompletableFuture<List<String>>> results = new ArrayList<>(MicroBatcher.MAX_BATCH_SIZE);
+			final StringBuilder json = new StringBuilder(body.length * 4);
+
+			json.append('[');
+			try {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					names.add(line.trim());
+					results.add(submit(line.trim()));
+					if (names.size() == MicroBatcher.MAX_BATCH_SIZE) {
+						appendResults(json, names, results);
+					}
+				}
+				appendResults(json, names, results);
+			} catch (ExecutionException e) {
+				sendError(exchange, 500, "Cannot romanize the batch: " + e.getCause());
+				return;
+			}
+			json.append("]\n");
+			sendJson(exchange, json);
+		}
+	}
+
+	/**
+	 * Appends the awaited results of a window as elements of the JSON array, and clears the window.
+	 */
+	private static void appendResults(StringBuilder json, List<String> names, List<CompletableFuture<List<String>>> results)
+			throws IOException, ExecutionException {
+		for (int i = 0; i < names.size(); i++) {
+			if (json.length() > 1) {
+				json.append(",\n");
+			}
+			appendResult(json, names.get(i), await(results.get(i)));
+		}
+		names.clear();
+		results.clear();
+	}
+
+	/**
+	 * Reads the whole body, unless it is larger than the limit.
+	 *
+	 * @return the body, or null if it is larger than {@code limit} bytes.
+	 */
+	private static byte[] readBody(HttpExchange exchange, int limit) throws IOException {
+		final byte[] body = exchange.getRequestBody().readNBytes(limit + 1);
+		return (body.length > limit) ? null : body;
+	}
+
+	private static void sendJson(HttpExchange exchange, CharSequence json) throws IOException {
+		final byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", JSON);
+		exchange.sendResponseHeaders(200, body.length);
+		exchange.getResponseBody().write(body);
+	}
+
+	private CompletableFuture<List<String>> submit(String name) throws IOException {
+		try {
+			return batcher.submit(name);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		}
+	}
+
+	private static List<String> await(CompletableFuture<List<String>> result) throws IOException, ExecutionException {
+		try {
+			return result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		}
+	}
+
+	private static String queryParameter(String query, String parameter) {
+		if (query == null) {
+			return null;
+		}
+		for (final String pair : query.split("&")) {
+			final int equals = pair.indexOf('=');
+			if (equals >= 0 && pair.substring(0, equals).equals(parameter)) {
+				return URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+			}
+		}
+		return null;
+	}
+
+	private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+		final byte[] body = message.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream output = exchange.getResponseBody()) {
+			output.write(body);
+		}
+	}
+
+	private static void appendResult(StringBuilder json, String name, List<String> candidates) {
+		json.append("{\"name\":");
+		appendString(json, name);
+		json.append(",\"candidates\":[");
+		for (int i = 0; i < candidates.size(); i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			appendString(json, candidates.get(i));
+		}
+		json.append("]}");
+	}
+
+	private static void appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			final char character = value.charAt(i);
+			if (character == '"' || character == '\\') {
+				json.append('\\').append(character);
+			} else if (character < 0x20) {
+				json.append(String.format("\\u%04x", (int) character));
+			} else {
+				json.append(character);
+			}
+		}
+		json.append('"');
+	}
+}
@@ -0,0 +1,79 @@
+package com.example.terry;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Decomposes Hangul syllables with the Vector API, one vector of characters at a time.
+ * <p>
+ * This is the only class that uses {@code jdk.incubator.vector}, and it is loaded only when the module is present,
+ * such as when the JVM runs with {@code --add-modules jdk.incubator.vector}; see {@link KoreanCharacter#decompose}.
+ * The Vector API has no fast integer division, so the divisions by 28 and 21 are multiplications and shifts,
+ * which are exact for every syllable.
+ */
+final class JamoVectors {
+	/**
+	 * The preferred integer vectors, and the vectors of characters and of bytes with as many lanes.
+	 * Vectors of fewer than 8 integers would need byte vectors narrower than any shape, so they are not used.
+	 */
+	private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+	private static final VectorSpecies<Short> SHORTS = (INTS.length() >= 8)
+			? VectorSpecies.of(short.class, VectorShape.forBitSize(INTS.length() * Short.SIZE)) : null;
+	private static final VectorSpecies<Byte> BYTES = (INTS.length() >= 8)
+			? VectorSpecies.of(byte.class, VectorShape.forBitSize(INTS.length() * Byte.SIZE)) : null;
+
+	private static final int SYLLABLE_COUNT = KoreanCharacter.KoreanUpperValue - KoreanCharacter.KoreanLowerValue + 1;
+
+	/**
+	 * {@code (x * 9363) >> 18 == x / 28} for every syllable index, and {@code (q * 391) >> 13 == q / 21} for every quotient.
+	 */
+	private static final int DIVIDE_BY_28 = 9363;
+	private static final int DIVIDE_BY_28_SHIFT = 18;
+	private static final int DIVIDE_BY_21 = 391;
+	private static final int DIVIDE_BY_21_SHIFT = 13;
+
+	private JamoVectors() {
+	}
+
+	/**
+	 * Decomposes the characters of the range in whole vectors, leaving the remainder to the caller.
+	 *
+	 * @return the index of the first character that is not decomposed.
+	 * @see KoreanCharacter#decompose(char[], int, int, byte[], byte[], byte[])
+	 */
+	static int decompose(char[] characters, int from, int to, byte[] chosungs, byte[] jungsungs, byte[] jongsungs) {
+		if (SHORTS == null) {
+			return from;
+		}
+
+		final int upperBound = from + INTS.loopBound(to - from);
+		int i = from;
+		for (; i < upperBound; i += INTS.length()) {
+			// Shorts wrap around, so exactly the syllables are in [0, SYLLABLE_COUNT) once extended to integers.
+			final IntVector syllable = ShortVector.fromCharArray(SHORTS, characters, i)
+					.sub((short) KoreanCharacter.KoreanLowerValue)
+					.convertShape(VectorOperators.S2I, INTS, 0)
+					.reinterpretAsInts();
+			final VectorMask<Integer> other = syllable.compare(VectorOperators.LT, 0)
+					.or(syllable.compare(VectorOperators.GE, SYLLABLE_COUNT));
+
+			final IntVector quotient = syllable.mul(DIVIDE_BY_28).lanewise(VectorOperators.ASHR, DIVIDE_BY_28_SHIFT);
+			final IntVector jongsung = syllable.sub(quotient.mul(28));
+			final IntVector chosung = quotient.mul(DIVIDE_BY_21).lanewise(VectorOperators.ASHR, DIVIDE_BY_21_SHIFT);
+			final IntVector jungsung = quotient.sub(chosung.mul(21));
+
+			intoArray(chosung.blend(-1, other), chosungs, i);
+			intoArray(jungsung.blend(-1, other), jungsungs, i);
+			intoArray(jongsung.blend(-1, other), jongsungs, i);
+		}
+		return i;
+	}
+
+	private static void intoArray(IntVector indices, byte[] array, int offset) {
+		indices.convertShape(VectorOperators.I2B, BYTES, 0).reinterpretAsBytes().intoArray(array, offset);
+	}
+}
@@ -270,7 +270,7 @@ public class KoreanCharacter implements Serializable, Comparable<KoreanCharacter
 			}
 		},
 		ㅎ(new String[] {"h"}) {
-			protected String[] getComplexPronunciation(KoreanCharacter prevCharacter, KoreanCharacter currentCharacter) {
+			protected String[] getComplexPronunciation(KoreanCharacter prevCharacter, KoreanCharacter currentCharacter, ConsonantAssimilation consonantAssimilation, Type type) {
 				switch (prevCharacter.getJongsung()) {
 					case ㄱ:
 						return new String[] {""};
@@ -491,7 +491,7 @@ public class KoreanCharacter implements Serializable, Comparable<KoreanCharacter
 		},
 		ㄶ(new String[]{"n"}) {
 			protected String[] getComplexPronunciation(KoreanCharacter nextCharacter, ConsonantAssimilation consonantAssimilation, Type type) {
-				return ㄴ.getComplexPronunciation(nextCharacter);
+				return ㄴ.getComplexPronunciation(nextCharacter, consonantAssimilation, type);
 			}
 		},
 		ㄷ(new String[]{"t"}) {
@@ -680,23 +680,23 @@ public class KoreanCharacter implements Serializable, Comparable<KoreanCharacter
 		},
 		ㅅ(new String[]{"t"}) {
 			protected String[] getComplexPronunciation(KoreanCharacter nextCharacter, ConsonantAssimilation consonantAssimilation, Type type) {
-				return ㄷ.getComplexPronunciation(nextCharacter);
+				return ㄷ.getComplexPronunciation(nextCharacter, consonantAssimilation, type);
 			}
 		},
 		ㅆ(new String[]{"t"}) {
 			protected String[] getComplexPronunciation(KoreanCharacter nextCharacter, ConsonantAssimilation consonantAssimilation, Type type) {
-				return ㄷ.getComplexPronunciation(nextCharacter);
+				return ㄷ.getComplexPronunciation(nextCharacter, consonantAssimilation, type);
 			}
 		},
 		ㅇ(new String[]{"ng"}),
 		ㅈ(new String[]{"t"}) {
 			protected String[] getComplexPronunciation(KoreanCharacter nextCharacter, ConsonantAssimilation consonantAssimilation, Type type) {
-				return ㄷ.getComplexPronunciation(nextCharacter);
+				return ㄷ.getComplexPronunciation(nextCharacter, consonantAssimilation, type);
 			}
 		},
 		ㅊ(new String[]{"t"}) {
 			protected String[] getComplexPronunciation(KoreanCharacter nextCharacter, ConsonantAssimilation consonantAssimilation, Type type) {
-				return ㄷ.getComplexPronunciation(nextCharacter);
+				return ㄷ.getComplexPronunciation(nextCharacter, consonantAssimilation, type);
 			}
 		},
 		ㅋ(new String[]{"k"}) {
@@ -787,6 +787,10 @@ public class KoreanCharacter implements Serializable, Comparable<KoreanCharacter
 		protected String[] getComplexPronunciation(KoreanCharacter nextCharacter) {
 			return defaultPronunciation;
 		}
+
+		protected String[] getComplexPronunciation(KoreanCharacter nextCharacter, ConsonantAssimilation consonantAssimilation, Type type) {
+			return defaultPronunciation;
+		}
 	}
 
 
@@ -800,6 +804,46 @@ public class KoreanCharacter implements Serializable, Comparable<KoreanCharacter
 	 */
 	public final static int KoreanUpperValue = 0xD7A3;
 
+	/**
+	 * The jamo arrays and the shared instances, built when an instance is first needed
+	 * rather than when the class is loaded, so that the static helpers such as {@link #isKoreanCharacter(char)} stay cheap.
+	 */
+	private static final class Cache {
+		/**
+		 * Cached copies of the {@code values()} arrays, which are cloned on every call.
+		 */
+		private static final Chosung[] CHOSUNGS = Chosung.values();
+		private static final Jungsung[] JUNGSUNGS = Jungsung.values();
+		private static final Jongsung[] JONGSUNGS = Jongsung.values();
+
+		/**
+		 * Shared instances of every Hangul syllable, indexed by {@code character - KoreanLowerValue}.
+		 */
+		private static final KoreanCharacter[] SYLLABLES = new KoreanCharacter[KoreanUpperValue - KoreanLowerValue + 1];
+
+		/**
+		 * Shared instances of the ASCII characters, which are the most common non-Hangul characters in names.
+		 */
+		private static final KoreanCharacter[] ASCII = new KoreanCharacter[0x80];
+
+		static {
+			for (int i = 0; i < SYLLABLES.length; i++) {
+				SYLLABLES[i] = new KoreanCharacter((char) (KoreanLowerValue + i));
+			}
+			for (int i = 0; i < ASCII.length; i++) {
+				ASCII[i] = new KoreanCharacter((char) i);
+			}
+		}
+	}
+
+	/**
+	 * The tables of the default pronunciations in lowercase, as returned by {@link #getRomanizedString},
+	 * compiled when they are first needed.
+	 */
+	private static final class Pronunciations {
+		private static final PronunciationTables TABLES = new PronunciationTables(ConsonantAssimilation.Regressive, Type.NameTypical, false);
+	}
+
 	/**
 	 * The original character from constructor's argument.
 	 */
@@ -808,32 +852,37 @@ public class KoreanCharacter implements Serializable, Comparable<KoreanCharacter
 	/**
 	 * Disassembled initial syllable of Hangul.
 	 */
-	private Chosung chosung;
+	private final Chosung chosung;
 
 	/**
 	 * Disassembled middle syllable of Hangul.
 	 */
-	private Jungsung jungsung;
+	private final Jungsung jungsung;
 
 	/**
 	 * Disassembled final syllable of Hangul.
 	 */
-	private Jongsung jongsung;
+	private final Jongsung jongsung;
 
 	/**
 	 * Constructor
 	 *
 	 * @param koreanCharacter
 	 * 		the Hangul or other character
+	 * @see #of(char)
 	 */
 	public KoreanCharacter(char koreanCharacter) {
 		character = koreanCharacter;
 
 		if (isKoreanCharacter(character)) {
 			int value = character - KoreanLowerValue;
-			chosung = Chosung.values()[value / (21 * 28)];
-			jungsung = Jungsung.values()[value % (21 * 28) / 28];
-			jongsung = Jongsung.values()[value % 28];
+			chosung = Cache.CHOSUNGS[value / (21 * 28)];
+			jungsung = Cache.JUNGSUNGS[value % (21 * 28) / 28];
+			jongsung = Cache.JONGSUNGS[value % 28];
+		} else {
+			chosung = null;
+			jungsung = null;
+			jongsung = null;
 		}
 	}
 
@@ -861,6 +910,25 @@ public class KoreanCharacter implements Serializable, Comparable<KoreanCharacter
 		this.character = (char) ((chosung.ordinal() * 21 * 28 + jungsung.ordinal() * 28 + jongsung.ordinal()) + KoreanLowerValue);
 	}
 
+	/**
+	 * Returns the shared instance for the character.
+	 * Every Hangul syllable and ASCII character is preallocated, so this never allocates for them,
+	 * and the returned objects are immutable and safe to share across threads.
+	 *
+	 * @param character
+	 * 		the Hangul or other character
+	 * @return the instance representing the character.
+	 */
+	public static KoreanCharacter of(char character) {
+		if (isKoreanCharacter(character)) {
+			return Cache.SYLLABLES[character - KoreanLowerValue];
+		}
+		if (character < Cache.ASCII.length) {
+			return Cache.ASCII[character];
+		}
+		return new KoreanCharacter(character);
+	}
+
 	/**
 	 * Whether or not the character of this object is Hangul.
 	 *
@@ -909,10 +977,16 @@ public class KoreanCharacter implements Serializable, Comparable<KoreanCharacter
 		if (!isKoreanCharacter()) {
 			return new ArrayList<String>();
 		}
-		List<String> romanizedStrings = new ArrayList<String>();
-		for (final String chosung : chosung.getPronunciation(prevCharacter, this)) {
-			for (final String jungsung : jungsung.getPronunciation(prevCharacter, this)) {
-				for (final String jongsung : jongsung.getPronunciation(nextCharacter)) {
+		final String[] chosungs = getChosungPronunciation(prevCharacter);
+		final String[] jongsungs = getJongsungPronunciation(nextCharacter);
+
+		final String[] jungsungs = Pronunciations.TABLES.jungsungs(character - KoreanLowerValue);
+
+		List<String> romanizedStrings = new ArrayList<String>(chosungs.length * jungsungs.length * jongsungs.length);
+		for (final String chosung : chosungs) {
+			// No rule of the vowel depends on the neighbouring characters.
+			for (final String jungsung : jungsungs) {
+				for (final String jongsung : jongsungs) {
 					romanizedStrings.add(chosung + jungsung + jongsung);
 				}
 			}
@@ -920,6 +994,32 @@ public class KoreanCharacter implements Serializable, Comparable<KoreanCharacter
 		return romanizedStrings;
 	}
 
+	/**
+	 * Looks up the pronunciations of the initial consonant of this Hangul character in the pronunciation tables.
+	 *
+	 * @param prevCharacter
+	 * 		the character preceding this character in the sentence.
+	 * @return the shared pronunciation array, which must not be modified.
+	 */
+	String[] getChosungPronunciation(KoreanCharacter prevCharacter) {
+		final int prevJongsung = (prevCharacter == null || !prevCharacter.isKoreanCharacter())
+				? PronunciationTables.NO_JONGSUNG : prevCharacter.jongsung.ordinal();
+		return Pronunciations.TABLES.chosungs(prevJongsung, character - KoreanLowerValue);
+	}
+
+	/**
+	 * Looks up the pronunciations of the final consonant of this Hangul character in the pronunciation tables.
+	 *
+	 * @param nextCharacter
+	 * 		the character after this character in the sentence.
+	 * @return the shared pronunciation array, which must not be modified.
+	 */
+	String[] getJongsungPronunciation(KoreanCharacter nextCharacter) {
+		final int nextSyllable = (nextCharacter == null || !nextCharacter.isKoreanCharacter())
+				? PronunciationTables.NO_SYLLABLE : nextCharacter.character - KoreanLowerValue;
+		return Pronunciations.TABLES.jongsungs(character - KoreanLowerValue, nextSyllable);
+	}
+
 	/**
 	 * To check if character is in the Hangul Syllable of Unicode table.
 	 *
@@ -931,6 +1031,210 @@ public class KoreanCharacter implements Serializable, Comparable<KoreanCharacter
 		return (KoreanLowerValue <= character && character <= KoreanUpperValue);
 	}
 
+	/**
+	 * Decomposes a range of characters at once into the ordinals of their jamo, in one array for each kind of jamo,
+	 * for bulk work such as indexing a whole roster or computing blocking keys without creating any object.
+	 * The ordinals of the jamo of {@code characters[i]} are written at index {@code i} of each array,
+	 * and a character that is not Hangul gets {@code -1} in all three.
+	 * <p>
+	 * Whole vectors of characters are decomposed with the Vector API when the {@code jdk.incubator.vector} module
+	 * is present, such as when the JVM runs with {@code --add-modules jdk.incubator.vector}, and one by one otherwise.
+	 *
+	 * @param characters
+	 * 		the characters to decompose.
+	 * @param from
+	 * 		the index of the first character to decompose.
+	 * @param to
+	 * 		the index after the last character to decompose.
+	 * @param chosungs
+	 * 		the array receiving the ordinals of {@link Chosung}.
+	 * @param jungsungs
+	 * 		the array receiving the ordinals of {@link Jungsung}.
+	 * @param jongsungs
+	 * 		the array receiving the ordinals of {@link Jongsung}, where {@link Jongsung#NONE} is 0.
+	 * @throws IndexOutOfBoundsException
+	 * 		if the range is out of the bounds of any of the arrays.
+	 */
+	public static void decompose(char[] characters, int from, int to, byte[] chosungs, byte[] jungsungs, byte[] jongsungs) {
+		Objects.requireNonNull(characters, "All parameters must not be null.");
+		Objects.requireNonNull(chosungs, "All parameters must not be null.");
+		Objects.requireNonNull(jungsungs, "All parameters must not be null.");
+		Objects.requireNonNull(jongsungs, "All parameters must not be null.");
+		Objects.checkFromToIndex(from, to, characters.length);
+		Objects.checkFromToIndex(from, to, chosungs.length);
+		Objects.checkFromToIndex(from, to, jungsungs.length);
+		Objects.checkFromToIndex(from, to, jongsungs.length);
+
+		final int vectorized = Vectorization.AVAILABLE ? JamoVectors.decompose(characters, from, to, chosungs, jungsungs, jongsungs) : from;
+		decomposeEach(characters, vectorized, to, chosungs, jungsungs, jongsungs);
+	}
+
+	/**
+	 * The scalar loop of {@link #decompose}, for the characters left over by the vectors or without the Vector API.
+	 */
+	private static void decomposeEach(char[] characters, int from, int to, byte[] chosungs, byte[] jungsungs, byte[] jongsungs) {
+		for (int i = from; i < to; i++) {
+			final int value = characters[i] - KoreanLowerValue;
+			if (value >= 0 && value < KoreanUpperValue - KoreanLowerValue + 1) {
+				final int quotient = value / 28;
+				chosungs[i] = (byte) (quotient / 21);
+				jungsungs[i] = (byte) (quotient % 21);
+				jongsungs[i] = (byte) (value % 28);
+			} else {
+				chosungs[i] = -1;
+				jungsungs[i] = -1;
+				jongsungs[i] = -1;
+			}
+		}
+	}
+
+	/**
+	 * Composes the Hangul jamo of a range of characters into syllables, in place and in a single pass,
+	 * so that text whose syllables are spelled out jamo by jamo is romanized like precomposed text.
+	 * <p>
+	 * Conjoining jamo (U+1100 to U+11FF), as in NFD text such as file names from macOS, are composed as NFC composes them:
+	 * an initial consonant followed by a vowel becomes a syllable, which then takes a following final consonant.
+	 * Compatibility jamo (U+3131 to U+318E), as typed one letter at a time, are composed the same way,
+	 * where a consonant followed by a vowel starts the next syllable rather than ending the previous one.
+	 * A syllable is never composed from both kinds of jamo, and a compatibility consonant only ends a syllable
+	 * composed from compatibility jamo, never a precomposed one, so text such as {@code 가ㅋㅋ} is kept as it is.
+	 * Archaic jamo, clusters spelled as two letters and every other character are kept as they are.
+	 * Composing never makes the text longer, so the result is written over the range from its start.
+	 *
+	 * @param characters
+	 * 		the characters to compose.
+	 * @param from
+	 * 		the index of the first character to compose.
+	 * @param to
+	 * 		the index after the last character to compose.
+	 * @return the index after the last composed character, which is {@code to} when there is nothing to compose.
+	 * @throws IndexOutOfBoundsException
+	 * 		if the range is out of the bounds of the array.
+	 */
+	public static int compose(char[] characters, int from, int to) {
+		Objects.requireNonNull(characters, "All parameters must not be null.");
+		Objects.checkFromToIndex(from, to, characters.length);
+
+		int written = from;
+		int i = from;
+		while (i < to) {
+			final char character = characters[i];
+			final int chosung = chosungOfJamo(character);
+			final boolean typed = isCompatibilityJamo(character);
+			final int jungsung = (chosung >= 0 && i + 1 < to && isCompatibilityJamo(characters[i + 1]) == typed) ? jungsungOfJamo(characters[i + 1]) : -1;
+
+			int syllable;
+			if (jungsung >= 0) {
+				syllable = (chosung * 21 + jungsung) * 28;
+				i += 2;
+			} else if (isKoreanCharacter(character) && (character - KoreanLowerValue) % 28 == 0) {
+				syllable = character - KoreanLowerValue;
+				i++;
+			} else {
+				characters[written++] = character;
+				i++;
+				continue;
+			}
+
+			final int jongsung = (i < to) ? jongsungOfJamo(characters[i], (i + 1 < to) ? characters[i + 1] : 0, typed) : 0;
+			if (jongsung > 0) {
+				syllable += jongsung;
+				i++;
+			}
+			characters[written++] = (char) (KoreanLowerValue + syllable);
+		}
+		return written;
+	}
+
+	/**
+	 * Composes the jamo of a text, without allocating when there is none, which is the common case.
+	 *
+	 * @return the composed text, or the text itself if it has no jamo.
+	 * @see #compose(char[], int, int)
+	 */
+	static CharSequence compose(CharSequence text) {
+		for (int i = 0; i < text.length(); i++) {
+			final char character = text.charAt(i);
+			if (isJamo(character)) {
+				final char[] characters = text.toString().toCharArray();
+				return new String(characters, 0, compose(characters, 0, characters.length));
+			}
+		}
+		return text;
+	}
+
+	/**
+	 * The ordinals of {@link Chosung} and {@link Jongsung} of the compatibility consonants from U+3131 ({@code ㄱ})
+	 * to U+314E ({@code ㅎ}), or -1 where the consonant cannot be in that position, such as {@code ㄳ} or {@code ㄸ}.
+	 */
+	private static final byte[] COMPATIBILITY_CHOSUNGS = {
+			0, 1, -1, 2, -1, -1, 3, 4, 5, -1, -1, -1, -1, -1, -1, -1, 6, 7, 8, -1, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18};
+	private static final byte[] COMPATIBILITY_JONGSUNGS = {
+			1, 2, 3, 4, 5, 6, 7, -1, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, -1, 18, 19, 20, 21, 22, -1, 23, 24, 25, 26, 27};
+
+	/**
+	 * @return true if the character is a conjoining or compatibility jamo, which {@link #compose(char[], int, int)} may compose.
+	 */
+	static boolean isJamo(char character) {
+		return (character >= 0x1100 && character <= 0x11FF) || isCompatibilityJamo(character);
+	}
+
+	/**
+	 * @return true if the character is a compatibility jamo, as typed one letter at a time.
+	 */
+	static boolean isCompatibilityJamo(char character) {
+		return character >= 0x3131 && character <= 0x318E;
+	}
+
+	/**
+	 * @return the ordinal of the {@link Chosung} of an initial consonant jamo, or -1.
+	 */
+	static int chosungOfJamo(char character) {
+		if (character >= 0x1100 && character <= 0x1112) {
+			return character - 0x1100;
+		}
+		if (character >= 0x3131 && character <= 0x314E) {
+			return COMPATIBILITY_CHOSUNGS[character - 0x3131];
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the ordinal of the {@link Jungsung} of a vowel jamo, or -1.
+	 */
+	static int jungsungOfJamo(char character) {
+		if (character >= 0x1161 && character <= 0x1175) {
+			return character - 0x1161;
+		}
+		if (character >= 0x314F && character <= 0x3163) {
+			return character - 0x314F;
+		}
+		return -1;
+	}
+
+	/**
+	 * @param next the character after the jamo, or 0 if there is none.
+	 * @param typed whether the syllable was composed from compatibility jamo, which only compatibility consonants can end.
+	 * @return the ordinal of the {@link Jongsung} of a final consonant jamo, or 0 if it does not end the syllable.
+	 */
+	static int jongsungOfJamo(char character, char next, boolean typed) {
+		if (!typed && character >= 0x11A8 && character <= 0x11C2) {
+			return character - 0x11A7;
+		}
+		if (typed && character >= 0x3131 && character <= 0x314E) {
+			final boolean startsNextSyllable = COMPATIBILITY_CHOSUNGS[character - 0x3131] >= 0 && isCompatibilityJamo(next) && jungsungOfJamo(next) >= 0;
+			return startsNextSyllable ? 0 : Math.max(COMPATIBILITY_JONGSUNGS[character - 0x3131], 0);
+		}
+		return 0;
+	}
+
+	/**
+	 * Whether {@link JamoVectors} can be loaded, checked when {@link #decompose} is first called.
+	 */
+	private static final class Vectorization {
+		private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+	}
+
 	/**
 	 * Compares this object to another in ascending order.
 	 *
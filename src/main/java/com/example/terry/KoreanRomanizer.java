@@ -1,9 +1,28 @@
 package com.example.terry;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.foreign.MemorySegment;
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import jdk.jfr.FlightRecorder;
 
 /**
  * A Java library that converts Korean into Roman characters.
@@ -11,189 +30,667 @@ import java.util.regex.Pattern;
  * but it is not perfect because it is difficult to implement 100% if there is no word dictionary data due to the nature of Korean.
  */
 public class KoreanRomanizer {
-	private static final Pattern doubleSurnames = Pattern.compile("^(강전|남궁|독고|동방|등정|망절|무본|사공|서문|선우|소봉|어금|장곡|제갈|황목|황보)(.{1,10})$");
-
-	private static final Map<String, String[]> typicalSurnameRules = new HashMap<String, String[]>() {
-		{
-			put("가", new String[] {"Ka", "Ga"});
-			put("간", new String[] {"Kan", "Gan"});
-			put("갈", new String[] {"Kal", "Gal"});
-			put("감", new String[] {"Kam", "Gam"});
-			put("강", new String[] {"Kang"});
-			put("강전", new String[] {"Kangjun", "Gangjun"});
-			put("견", new String[] {"Kyun", "Gyun"});
-			put("경", new String[] {"Kyung", "Gyung"});
-			put("계", new String[] {"Kye", "Gye"});
-			put("고", new String[] {"Ko", "Go"});
-			put("공", new String[] {"Kong", "Gong"});
-			put("곽", new String[] {"Kwak", "Gwak"});
-			put("구", new String[] {"Koo", "Goo"});
-			put("국", new String[] {"Kook", "Gook"});
-			put("군", new String[] {"Kun", "Gun"});
-			put("궁", new String[] {"Koong", "Goong"});
-			put("궉", new String[] {"Kwok", "Gwok"});
-			put("권", new String[] {"Kwon", "Gwon"});
-			put("근", new String[] {"Keun", "Geun"});
-			put("금", new String[] {"Keum", "Geum"});
-			put("기", new String[] {"Ki", "Gi"});
-			put("길", new String[] {"Kil", "Gil"});
-			put("김", new String[] {"Kim", "Gim"});
-			put("남궁", new String[] {"Namgoong", "NamGung", "NamGKoong", "NamKung"});
-			put("노", new String[] {"Noh", "Roh"});
-			put("독고", new String[] {"DokGo", "Dokko"});
-			put("두", new String[] {"Doo"});
-			put("등정", new String[] {"DeungJeong", "DungJeoung"});
-			put("란", new String[] {"Lan", "Ran"});
-			put("뢰", new String[] {"Loi"});
-			put("루", new String[] {"Lu"});
-			put("망절", new String[] {"Mangjul"});
-			put("명", new String[] {"Myung", "Myoung"});
-			put("무본", new String[] {"Moobon", "Mubon"});
-			put("문", new String[] {"Moon", "Mun"});
-			put("박", new String[] {"Park", "Pak", "Bak"});
-			put("변", new String[] {"Byun", "Byeon"});
-			put("부", new String[] {"Boo"});
-			put("사공", new String[] {"Sagong", "SaKong"});
-			put("서", new String[] {"Seo", "Suh"});
-			put("서문", new String[] {"Seomoon", "Seomun", "Suhmun", "Suhmoon"});
-			put("선", new String[] {"Sun", "Seon"});
-			put("선우", new String[] {"Sunwoo", "Sunwu", "Seonwoo", "Seunwu"});
-			put("성", new String[] {"Sung", "Seong"});
-			put("소봉", new String[] {"Sobong", "Sopong"});
-			put("순", new String[] {"Soon", "Sun"});
-			put("신", new String[] {"Shin"});
-			put("심", new String[] {"Shim", "Sim"});
-			put("아", new String[] {"Ah", "A"});
-			put("어금", new String[] {"Eokum", "Eogum", "Eogeum"});
-			put("오", new String[] {"Oh", "O"});
-			put("우", new String[] {"Woo"});
-			put("운", new String[] {"Woon", "Wun"});
-			put("유", new String[] {"Yoo", "Yu"});
-			put("윤", new String[] {"Yoon", "Yun"});
-			put("이", new String[] {"Lee", "Yi", "I"});
-			put("임", new String[] {"Lim", "Im"});
-			put("장곡", new String[] {"Janggok", "Jangkok"});
-			put("정", new String[] {"Jung", "Jeong"});
-			put("제갈", new String[] {"Jegal", "Jekal"});
-			put("조", new String[] {"Cho", "Jo"});
-			put("주", new String[] {"Joo", "Ju", "Choo"});
-			put("준", new String[] {"June", "Jun", "Joon"});
-			put("즙", new String[] {"Chup", "Jeup"});
-			put("최", new String[] {"Choi"});
-			put("편", new String[] {"Pyun", "Pyeon"});
-			put("평", new String[] {"Pyung", "Pyeong"});
-			put("풍", new String[] {"Poong", "Pung"});
-			put("현", new String[] {"Hyun", "Hyoen"});
-			put("형", new String[] {"Hyung", "Heyoung"});
-			put("황", new String[] {"Hwang"});
-			put("황목", new String[] {"Hwangmok"});
-			put("황보", new String[] {"Hwangbo", "Hwangpo"});
-			put("흥", new String[] {"Hong", "Heoung"});
-
-		}
-	};
+	/**
+	 * Number of names that one fork-join leaf task or executor task romanizes sequentially.
+	 */
+	private static final int BATCH_SIZE = 256;
+
+	/**
+	 * System property naming a surname rule file to load at startup over the built-in rules,
+	 * as {@link #reloadSurnameRules(Path)}.
+	 */
+	public static final String SURNAME_RULES_PROPERTY = "com.example.terry.surnameRules";
+
+	/**
+	 * System property that makes the flight recorder events record the names themselves, instead of only their length and hash.
+	 */
+	public static final String RECORD_NAMES_PROPERTY = "com.example.terry.recordNames";
+
+	private static final SurnameRules defaultSurnameRules = loadDefaultSurnameRules();
+
+	/*
+	 * Rules are immutable, and each romanization reads this field once,
+	 * so replacing it never affects romanizations in progress and needs no locking.
+	 */
+	private static volatile SurnameRules surnameRules = loadInitialSurnameRules();
+
+	private static volatile RomanizationMetrics metrics = RomanizationMetrics.NOOP;
+
+	/**
+	 * The engine with the default options, which all the static methods use.
+	 */
+	private static final RomanizerEngine DEFAULT_ENGINE = RomanizerOptions.builder().build();
+
+	/**
+	 * @return the built-in surname rules as generated at build time, or compiled from {@link #compileDefaultSurnameRules()}
+	 * if the generated tables are missing.
+	 */
+	private static SurnameRules loadDefaultSurnameRules() {
+		final SurnameRules rules = TableGenerator.precomputedSurnameRules();
+		return (rules != null) ? rules : compileDefaultSurnameRules();
+	}
+
+	/**
+	 * Compiles the built-in surname rules, which {@link TableGenerator} turns into constant tables at build time.
+	 *
+	 * @return the built-in surname rules.
+	 */
+	static SurnameRules compileDefaultSurnameRules() {
+		return new SurnameRules.Builder()
+				.addDoubleSurname("강전")
+				.addDoubleSurname("남궁")
+				.addDoubleSurname("독고")
+				.addDoubleSurname("동방")
+				.addDoubleSurname("등정")
+				.addDoubleSurname("망절")
+				.addDoubleSurname("무본")
+				.addDoubleSurname("사공")
+				.addDoubleSurname("서문")
+				.addDoubleSurname("선우")
+				.addDoubleSurname("소봉")
+				.addDoubleSurname("어금")
+				.addDoubleSurname("장곡")
+				.addDoubleSurname("제갈")
+				.addDoubleSurname("황목")
+				.addDoubleSurname("황보")
+				.add("가", "Ka", "Ga")
+				.add("간", "Kan", "Gan")
+				.add("갈", "Kal", "Gal")
+				.add("감", "Kam", "Gam")
+				.add("강", "Kang")
+				.add("강전", "Kangjun", "Gangjun")
+				.add("견", "Kyun", "Gyun")
+				.add("경", "Kyung", "Gyung")
+				.add("계", "Kye", "Gye")
+				.add("고", "Ko", "Go")
+				.add("공", "Kong", "Gong")
+				.add("곽", "Kwak", "Gwak")
+				.add("구", "Koo", "Goo")
+				.add("국", "Kook", "Gook")
+				.add("군", "Kun", "Gun")
+				.add("궁", "Koong", "Goong")
+				.add("궉", "Kwok", "Gwok")
+				.add("권", "Kwon", "Gwon")
+				.add("근", "Keun", "Geun")
+				.add("금", "Keum", "Geum")
+				.add("기", "Ki", "Gi")
+				.add("길", "Kil", "Gil")
+				.add("김", "Kim", "Gim")
+				.add("남궁", "Namgoong", "NamGung", "NamGKoong", "NamKung")
+				.add("노", "Noh", "Roh")
+				.add("독고", "DokGo", "Dokko")
+				.add("두", "Doo")
+				.add("등정", "DeungJeong", "DungJeoung")
+				.add("란", "Lan", "Ran")
+				.add("뢰", "Loi")
+				.add("루", "Lu")
+				.add("망절", "Mangjul")
+				.add("명", "Myung", "Myoung")
+				.add("무본", "Moobon", "Mubon")
+				.add("문", "Moon", "Mun")
+				.add("박", "Park", "Pak", "Bak")
+				.add("변", "Byun", "Byeon")
+				.add("부", "Boo")
+				.add("사공", "Sagong", "SaKong")
+				.add("서", "Seo", "Suh")
+				.add("서문", "Seomoon", "Seomun", "Suhmun", "Suhmoon")
+				.add("선", "Sun", "Seon")
+				.add("선우", "Sunwoo", "Sunwu", "Seonwoo", "Seunwu")
+				.add("성", "Sung", "Seong")
+				.add("소봉", "Sobong", "Sopong")
+				.add("순", "Soon", "Sun")
+				.add("신", "Shin")
+				.add("심", "Shim", "Sim")
+				.add("아", "Ah", "A")
+				.add("어금", "Eokum", "Eogum", "Eogeum")
+				.add("오", "Oh", "O")
+				.add("우", "Woo")
+				.add("운", "Woon", "Wun")
+				.add("유", "Yoo", "Yu")
+				.add("윤", "Yoon", "Yun")
+				.add("이", "Lee", "Yi", "I")
+				.add("임", "Lim", "Im")
+				.add("장곡", "Janggok", "Jangkok")
+				.add("정", "Jung", "Jeong")
+				.add("제갈", "Jegal", "Jekal")
+				.add("조", "Cho", "Jo")
+				.add("주", "Joo", "Ju", "Choo")
+				.add("준", "June", "Jun", "Joon")
+				.add("즙", "Chup", "Jeup")
+				.add("최", "Choi")
+				.add("편", "Pyun", "Pyeon")
+				.add("평", "Pyung", "Pyeong")
+				.add("풍", "Poong", "Pung")
+				.add("현", "Hyun", "Hyoen")
+				.add("형", "Hyung", "Heyoung")
+				.add("황", "Hwang")
+				.add("황목", "Hwangmok")
+				.add("황보", "Hwangbo", "Hwangpo")
+				.add("흥", "Hong", "Heoung")
+				.build();
+	}
+
+	private static SurnameRules loadInitialSurnameRules() {
+		final String path = System.getProperty(SURNAME_RULES_PROPERTY);
+		if (path == null) {
+			return defaultSurnameRules;
+		}
+
+		try {
+			return defaultSurnameRules.overlay(SurnameRules.load(Paths.get(path)));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot load the surname rules of " + SURNAME_RULES_PROPERTY, e);
+		}
+	}
+
+	/**
+	 * Lays the rules of a rule file over the built-in surname rules, without pausing romanizations in progress,
+	 * which finish with the rules they started with.
+	 * <p>
+	 * The surnames of the file replace the built-in spellings of the same surnames, and every other built-in surname is kept,
+	 * so a file only needs the surnames it changes. Rules of a previous reload are dropped, not merged.
+	 *
+	 * @param path the rule file, in the format written by {@link #exportSurnameRules(Path)}.
+	 * @throws IOException if the file cannot be read or is not a valid rule file, in which case the rules are unchanged.
+	 */
+	public static void reloadSurnameRules(Path path) throws IOException {
+		Objects.requireNonNull(path, "Path should not be null.");
+
+		surnameRules = defaultSurnameRules.overlay(SurnameRules.load(path));
+	}
+
+	/**
+	 * Restores the built-in surname rules.
+	 */
+	public static void resetSurnameRules() {
+		surnameRules = defaultSurnameRules;
+	}
+
+	/**
+	 * Writes the current surname rules to a rule file, which can be edited with other tools and loaded back
+	 * with {@link #reloadSurnameRules(Path)} or the {@value #SURNAME_RULES_PROPERTY} system property.
+	 *
+	 * @param path the rule file to write.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public static void exportSurnameRules(Path path) throws IOException {
+		Objects.requireNonNull(path, "Path should not be null.");
+
+		surnameRules.write(path);
+	}
+
+	/**
+	 * Installs the metrics that receive a measurement of every romanization.
+	 *
+	 * @param metrics the metrics, or {@link RomanizationMetrics#NOOP} to stop measuring.
+	 */
+	public static void setMetrics(RomanizationMetrics metrics) {
+		KoreanRomanizer.metrics = Objects.requireNonNull(metrics, "RomanizationMetrics should not be null.");
+	}
+
+	static RomanizationMetrics getMetrics() {
+		return metrics;
+	}
+
+	static SurnameRules getSurnameRules() {
+		return surnameRules;
+	}
+
+	/**
+	 * Compiles a text file of surname rules into a rule file.
+	 * Each line holds a surname of one or two syllables followed by its spellings separated by spaces, such as {@code 박 Park Pak Bak};
+	 * a double surname without spellings is recognized but keeps the romanization of its syllables.
+	 * Blank lines and lines starting with {@code #} are ignored.
+	 *
+	 * @param source the UTF-8 text file.
+	 * @param target the rule file to write.
+	 * @throws IOException if a file cannot be read or written.
+	 * @throws IllegalArgumentException if a surname is not one or two Hangul syllables.
+	 */
+	public static void compileSurnameRules(Path source, Path target) throws IOException {
+		Objects.requireNonNull(source, "Path should not be null.");
+		Objects.requireNonNull(target, "Path should not be null.");
+
+		try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+			new SurnameRules.Builder().addAll(reader).build().write(target);
+		}
+	}
 
 	/**
 	 * Romanize the surname.
+	 * A name spelled out in jamo, such as a name in NFD, is composed into syllables first.
 	 *
 	 * @param fullname the name string to normalize.
-	 * @return the list of normalized names.
+	 * @return the list of normalized names, each of which appears once, or an empty list for an empty name.
+	 * @see KoreanCharacter#compose(char[], int, int)
 	 */
 	public static List<String> romanizeSurName(String fullname) {
-		Objects.requireNonNull(fullname, "String should not be null.");
+		return romanizeSurName(DEFAULT_ENGINE, fullname, new StringBuilder());
+	}
 
-		final Matcher matcher = doubleSurnames.matcher(fullname);
+	/**
+	 * Romanize the surname with the engine, building every name in the given scratch buffer.
+	 */
+	static List<String> romanizeSurName(RomanizerEngine engine, String fullname, StringBuilder scratch) {
+		final RomanizationEvent event = beginEvent();
+		final RomanizationMetrics metrics = KoreanRomanizer.metrics;
+		final long startTime = startTime(metrics);
 
-		LinkedList<String> fullNames = new LinkedList<>();
+		final RomanizationLattice lattice = engine.lattice(fullname);
+		final RomanizationLattice.Cursor cursor = lattice.cursor();
+		final List<String> fullNames = new ArrayList<>();
+		while (cursor.next(scratch)) {
+			fullNames.add(scratch.toString());
+		}
 
-		if (matcher.find()) {
-			final String surname = matcher.group(1);
-			final List<String> givenNames = romanizeGivenName(matcher.group(2));
+		record(event, metrics, startTime, fullname, lattice, fullNames.size());
+		return fullNames;
+	}
 
-			final String[] surnames = typicalSurnameRules.get(surname);
-			if (surnames == null) {
-				for (final String givenTemp : givenNames) {
-					fullNames.add(givenTemp);
-				}
-			} else  {
-				for (final String surTemp : surnames)  {
-					for (final String givenTemp : givenNames) {
-						fullNames.add(surTemp.toUpperCase() + " " + givenTemp);
-					}
+	/**
+	 * Begins the flight recorder event of a call, unless the flight recorder was never started.
+	 * Loading the event classes costs far more than a romanization, so processes that never record do not load them.
+	 *
+	 * @return the event, or null.
+	 */
+	private static RomanizationEvent beginEvent() {
+		if (!FlightRecorder.isInitialized()) {
+			return null;
+		}
+		final RomanizationEvent event = new RomanizationEvent();
+		event.begin();
+		return event;
+	}
+
+	private static long startTime(RomanizationMetrics metrics) {
+		return (metrics == RomanizationMetrics.NOOP) ? 0 : System.nanoTime();
+	}
+
+	/**
+	 * Reports a finished call to the flight recorder and to the metrics, doing nothing more than two checks when both are disabled.
+	 */
+	private static void record(RomanizationEvent event, RomanizationMetrics metrics, long startTime,
+			String fullname, RomanizationLattice lattice, long candidateCount) {
+		if (event != null) {
+			event.end();
+			if (event.shouldCommit()) {
+				if (RomanizationEvent.RECORD_NAMES) {
+					event.name = fullname;
 				}
+				event.nameHash = fullname.hashCode();
+				event.inputLength = fullname.length();
+				event.candidateCount = candidateCount;
+				event.surnamePath = lattice.getSurnamePath().name();
+				event.commit();
 			}
 		}
+		if (metrics != RomanizationMetrics.NOOP) {
+			metrics.recordRomanization(fullname.length(), candidateCount, lattice.getSurnamePath(), System.nanoTime() - startTime);
+		}
+	}
 
-		final List<String> surnamesTemp;
+	/**
+	 * Romanize the surname without creating a string or list per name.
+	 * Each name is written into the buffer, replacing its contents, and then passed to the action,
+	 * so the action must copy the buffer if it keeps the name.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @param buffer the reusable buffer to write each name into.
+	 * @param action the action to call for each normalized name.
+	 */
+	public static void romanizeSurName(String fullname, StringBuilder buffer, Consumer<? super CharSequence> action) {
+		Objects.requireNonNull(buffer, "StringBuilder should not be null.");
+		Objects.requireNonNull(action, "Consumer should not be null.");
+
+		final RomanizationEvent event = beginEvent();
+		final RomanizationMetrics metrics = KoreanRomanizer.metrics;
+		final long startTime = startTime(metrics);
 
-		final String[] surnames = typicalSurnameRules.get(fullname.substring(0, 1));
-		if (surnames == null) {
-			surnamesTemp = romanizeGivenName(fullname.substring(0, 1));
-		} else {
-			surnamesTemp = new ArrayList<>();
+		final RomanizationLattice lattice = lattice(fullname);
+		final RomanizationLattice.Cursor cursor = lattice.cursor();
+		while (cursor.next(buffer)) {
+			action.accept(buffer);
 		}
-		final List<String> givenNames = romanizeGivenName(fullname.substring(1));
 
-		if (surnamesTemp != null) {
-			for (final String surnameTemp : surnamesTemp) {
-				for (final String givenTemp : givenNames) {
-					fullNames.add(surnameTemp.toUpperCase() + " " + givenTemp);
-				}
+		record(event, metrics, startTime, fullname, lattice, lattice.longSize());
+	}
+
+	/**
+	 * Romanize the surname, writing the names directly to the output.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @param output the output to append the names to.
+	 * @param delimiter the delimiter to append between names.
+	 * @throws IOException if the output fails.
+	 */
+	public static void romanizeSurName(String fullname, Appendable output, CharSequence delimiter) throws IOException {
+		Objects.requireNonNull(output, "Appendable should not be null.");
+		Objects.requireNonNull(delimiter, "CharSequence should not be null.");
+
+		final RomanizationEvent event = beginEvent();
+		final RomanizationMetrics metrics = KoreanRomanizer.metrics;
+		final long startTime = startTime(metrics);
+
+		final RomanizationLattice lattice = lattice(fullname);
+		final RomanizationLattice.Cursor cursor = lattice.cursor();
+		for (boolean first = true; cursor.advance(); first = false) {
+			if (!first) {
+				output.append(delimiter);
 			}
+			cursor.appendTo(output);
 		}
 
-		if (surnames != null) {
-			for (final String surTemp : surnames)  {
-				for (final String givenTemp : givenNames) {
-					fullNames.add(surTemp.toUpperCase() + " " + givenTemp);
-				}
+		record(event, metrics, startTime, fullname, lattice, lattice.longSize());
+	}
+
+	/**
+	 * Romanize many names in parallel on the common fork-join pool.
+	 *
+	 * @param fullnames the name strings to normalize.
+	 * @return the lists of normalized names, in the same order as the input.
+	 */
+	public static List<List<String>> romanizeAll(List<String> fullnames) {
+		Objects.requireNonNull(fullnames, "List should not be null.");
+
+		final List<String>[] results = newResults(fullnames.size());
+		ForkJoinPool.commonPool().invoke(new RomanizeTask(fullnames, results, 0, fullnames.size()));
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * Romanize many names in parallel on the given executor.
+	 * The names are split into batches, and each batch is romanized sequentially by one task.
+	 *
+	 * @param fullnames the name strings to normalize.
+	 * @param executor the executor to run the batches on.
+	 * @return the lists of normalized names, in the same order as the input.
+	 * @throws InterruptedException if the current thread is interrupted while waiting.
+	 */
+	public static List<List<String>> romanizeAll(List<String> fullnames, ExecutorService executor) throws InterruptedException {
+		Objects.requireNonNull(fullnames, "List should not be null.");
+		Objects.requireNonNull(executor, "ExecutorService should not be null.");
+
+		final List<String>[] results = newResults(fullnames.size());
+		final List<Future<?>> futures = new ArrayList<>();
+		for (int from = 0; from < fullnames.size(); from += BATCH_SIZE) {
+			final int batchFrom = from;
+			final int batchTo = Math.min(from + BATCH_SIZE, fullnames.size());
+			futures.add(executor.submit(() -> romanizeBatch(fullnames, results, batchFrom, batchTo)));
+		}
+
+		try {
+			for (final Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			for (final Future<?> future : futures) {
+				future.cancel(false);
 			}
-		} else if(fullNames.isEmpty()){
-			for (final String fullTemp : romanizeGivenName(fullname)) {
-				fullNames.add(fullTemp);
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
 			}
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			for (final Future<?> future : futures) {
+				future.cancel(true);
+			}
+			throw e;
+		}
+		return Arrays.asList(results);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String>[] newResults(int size) {
+		return (List<String>[]) new List<?>[size];
+	}
+
+	private static void romanizeBatch(List<String> fullnames, List<String>[] results, int from, int to) {
+		final StringBuilder scratch = new StringBuilder();
+		for (int i = from; i < to; i++) {
+			results[i] = romanizeSurName(DEFAULT_ENGINE, fullnames.get(i), scratch);
 		}
+	}
 
+	/**
+	 * Splits a range of names in half until it is small enough to romanize sequentially.
+	 */
+	private static final class RomanizeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
 
+		private final transient List<String> fullnames;
+		private final transient List<String>[] results;
+		private final int from;
+		private final int to;
 
-		return fullNames;
+		RomanizeTask(List<String> fullnames, List<String>[] results, int from, int to) {
+			this.fullnames = fullnames;
+			this.results = results;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= BATCH_SIZE) {
+				romanizeBatch(fullnames, results, from, to);
+				return;
+			}
+
+			final int middle = (from + to) >>> 1;
+			invokeAll(new RomanizeTask(fullnames, results, from, middle), new RomanizeTask(fullnames, results, middle, to));
+		}
 	}
 
 	/**
-	 * Romanize the given name.
+	 * Romanize the surname into a lattice, which holds the options of the surname and of each syllable
+	 * instead of every combination, and builds the names on demand.
 	 *
-	 * @param givenName the given name to romanize.
-	 * @return the romanized given name.
+	 * @param fullname the name string to normalize.
+	 * @return the immutable list of normalized names, in the same order as {@link #romanizeSurName(String)}.
 	 */
+	public static RomanizationLattice romanizeLattice(String fullname) {
+		return lattice(fullname);
+	}
 
-	private static List<String> romanizeGivenName(String givenName) {
-		final List<String> buffer = new ArrayList<>();
+	/**
+	 * Romanize the surname, keeping the number of names within a budget.
+	 * If the name has more candidates than {@code maxCandidates}, only the most typical option of each syllable is used,
+	 * and if that is still too many, the result is truncated to {@code maxCandidates}.
+	 * This makes it safe to romanize untrusted input such as long pasted text.
+	 * The result tells whether either happened, see {@link RomanizationResult#isDegraded()}.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @param maxCandidates the maximum number of names to return.
+	 * @return the list of normalized names, with whether the budget degraded or truncated them.
+	 * @throws IllegalArgumentException if {@code maxCandidates} is negative.
+	 */
+	public static RomanizationResult romanizeSurName(String fullname, int maxCandidates) {
+		return romanizeSurName(DEFAULT_ENGINE, fullname, maxCandidates);
+	}
 
-		KoreanCharacter currentCharacter = null;
-		KoreanCharacter nextCharacter = null;
+	static RomanizationResult romanizeSurName(RomanizerEngine engine, String fullname, int maxCandidates) {
+		if (maxCandidates < 0) {
+			throw new IllegalArgumentException("maxCandidates should not be negative.");
+		}
 
-		for (int i = 0; i < givenName.length(); i++) {
-			final KoreanCharacter prevCharacter = currentCharacter;
-			currentCharacter = (nextCharacter == null) ? new KoreanCharacter(givenName.charAt(i)) : nextCharacter;
-			nextCharacter = (i < givenName.length() - 1) ? new KoreanCharacter(givenName.charAt(i + 1)) : null;
+		final RomanizationEvent event = beginEvent();
+		final RomanizationMetrics metrics = KoreanRomanizer.metrics;
+		final long startTime = startTime(metrics);
 
-			// Assuming KoreanCharacter has a method getRomanizedString
-			final List<String> oneCharName = currentCharacter.getRomanizedString(prevCharacter, nextCharacter);
-			List<String> newBuffer = new ArrayList<>();
+		RomanizationLattice lattice = engine.lattice(fullname);
+		final long candidateCount = lattice.longSize();
+		final boolean typicalOnly = candidateCount > maxCandidates;
+		if (typicalOnly) {
+			lattice = lattice.typical();
+		}
+		final boolean truncated = lattice.longSize() > maxCandidates;
 
-			for (final String temp : oneCharName) {
-				if (buffer.isEmpty()) {
-					newBuffer.add(temp.toUpperCase());
-				} else {
-					for (final String existing : buffer) {
-						newBuffer.add(existing + temp.toUpperCase());
-					}
-				}
+		final List<String> fullNames = new ArrayList<>((int) Math.min(lattice.longSize(), maxCandidates));
+		for (final String fullName : lattice) {
+			if (fullNames.size() == maxCandidates) {
+				break;
 			}
-			buffer.clear();
-			buffer.addAll(newBuffer);
+			fullNames.add(fullName);
 		}
 
-		return buffer;
+		record(event, metrics, startTime, fullname, lattice, fullNames.size());
+		return new RomanizationResult(Collections.unmodifiableList(fullNames), candidateCount, typicalOnly, truncated);
+	}
+
+	/**
+	 * Counts the names that {@link #romanizeSurName(String)} would return, without building them.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @return the number of normalized names, or {@link Long#MAX_VALUE} if it overflows.
+	 */
+	public static long countCandidates(String fullname) {
+		return lattice(fullname).longSize();
+	}
+
+	/**
+	 * Lazily enumerates the same candidates as {@link #romanizeSurName(String)}, in the same order.
+	 * Each candidate is only built when the stream reaches it,
+	 * so callers that only need the first few candidates or filter them do not pay for the whole set.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @return the stream of normalized names.
+	 */
+	public static Stream<String> candidates(String fullname) {
+		final RomanizationLattice lattice = lattice(fullname);
+		final int characteristics = Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+		return StreamSupport.stream(lattice.longSize() == Long.MAX_VALUE
+				? Spliterators.spliteratorUnknownSize(lattice.iterator(), characteristics)
+				: Spliterators.spliterator(lattice.iterator(), lattice.longSize(), characteristics), false);
+	}
+
+	/**
+	 * Returns the most typical romanizations of the name, without enumerating all of them.
+	 * Each candidate is ranked by the position of its surname in the typical surname spellings
+	 * plus the positions of the pronunciations of every syllable in their default arrays, from the lowest.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @param k the maximum number of names to return.
+	 * @return at most {@code k} normalized names, from the most typical.
+	 * @throws IllegalArgumentException if {@code k} is negative.
+	 */
+	public static List<String> romanizeTopK(String fullname, int k) {
+		return romanizeTopK(DEFAULT_ENGINE, fullname, k);
+	}
+
+	static List<String> romanizeTopK(RomanizerEngine engine, String fullname, int k) {
+		if (k < 0) {
+			throw new IllegalArgumentException("k should not be negative.");
+		}
+		final RomanizationEvent event = beginEvent();
+		final RomanizationMetrics metrics = KoreanRomanizer.metrics;
+		final long startTime = startTime(metrics);
+
+		final RomanizationLattice lattice = engine.lattice(fullname);
+		final List<String> fullNames = lattice.best(k);
+
+		record(event, metrics, startTime, fullname, lattice, fullNames.size());
+		return fullNames;
+	}
+
+	/**
+	 * Checks whether the romanized name is one of the romanizations of the Hangul name,
+	 * without enumerating the candidates. The case, spaces and hyphens of the romanized name are ignored.
+	 *
+	 * @param fullname the Hangul name.
+	 * @param romanizedName the romanized name to check, such as {@code "PARK JISUNG"} or {@code "Park Ji-sung"}.
+	 * @return true if {@link #romanizeSurName(String)} returns the romanized name, up to case, spaces and hyphens.
+	 */
+	public static boolean matches(String fullname, String romanizedName) {
+		Objects.requireNonNull(romanizedName, "String should not be null.");
+
+		return lattice(fullname).matches(RomanizedNameIndex.normalize(romanizedName));
+	}
+
+	/**
+	 * Romanizes the Hangul of a text that mixes scripts, such as an address or a free-text field,
+	 * and keeps every other character as it is, where {@link #romanizeSurName(String)} would return no name at all.
+	 * Each run of Hangul syllables is written with its most typical reading, and the surname rules are not applied.
+	 * Build a {@link RomanizerEngine} for another type of word or casing, such as lowercase text.
+	 *
+	 * @param text the text to romanize.
+	 * @return the romanized text.
+	 */
+	public static String romanizeText(CharSequence text) {
+		return DEFAULT_ENGINE.romanizeText(text);
+	}
+
+	/**
+	 * Romanizes the Hangul of a text that mixes scripts, writing the text directly to the output.
+	 *
+	 * @param text the text to romanize.
+	 * @param output the output to append the romanized text to.
+	 * @throws IOException if the output fails.
+	 * @see #romanizeText(CharSequence)
+	 */
+	public static void romanizeText(CharSequence text, Appendable output) throws IOException {
+		DEFAULT_ENGINE.romanizeText(text, output);
+	}
+
+	/**
+	 * Romanizes the Hangul of a text that mixes scripts, streaming it from the input to the output in constant memory.
+	 * Neither stream is closed.
+	 *
+	 * @param input the text to romanize.
+	 * @param output the output to write the romanized text to.
+	 * @throws IOException if the input or the output fails.
+	 * @see #romanizeText(CharSequence)
+	 */
+	public static void romanizeText(Reader input, Writer output) throws IOException {
+		DEFAULT_ENGINE.romanizeText(input, output);
+	}
+
+	/**
+	 * Romanizes the Hangul of a UTF-8 text that mixes scripts, from the remaining bytes of the input to the output,
+	 * without decoding the text into strings. Every byte that is not part of a Hangul syllable is copied as it is.
+	 * If the output is too small, the positions are left unchanged.
+	 *
+	 * @param input the UTF-8 text to romanize, between its position and its limit.
+	 * @param output the buffer to write the romanized UTF-8 text to.
+	 * @throws java.nio.BufferOverflowException if the output has not enough room for the romanized text.
+	 * @see RomanizerEngine#romanizeUtf8(ByteBuffer, ByteBuffer)
+	 */
+	public static void romanizeUtf8(ByteBuffer input, ByteBuffer output) {
+		DEFAULT_ENGINE.romanizeUtf8(input, output);
+	}
+
+	/**
+	 * Romanizes the Hangul of a UTF-8 text that mixes scripts, from a memory segment to another,
+	 * such as a memory-mapped file, without decoding the text into strings.
+	 * Every byte that is not part of a Hangul syllable is copied as it is.
+	 *
+	 * @param input the UTF-8 text to romanize.
+	 * @param output the segment to write the romanized UTF-8 text to, from its start.
+	 * @return the number of bytes written.
+	 * @throws java.nio.BufferOverflowException if the output has not enough room for the romanized text.
+	 * @see RomanizerEngine#romanizeUtf8(MemorySegment, MemorySegment)
+	 */
+	public static long romanizeUtf8(MemorySegment input, MemorySegment output) {
+		return DEFAULT_ENGINE.romanizeUtf8(input, output);
+	}
+
+	/**
+	 * Romanizes the Hangul of a UTF-8 text that mixes scripts into a new array.
+	 *
+	 * @param input the UTF-8 text to romanize.
+	 * @return the romanized UTF-8 text.
+	 * @see #romanizeUtf8(ByteBuffer, ByteBuffer)
+	 */
+	public static byte[] romanizeUtf8(byte[] input) {
+		return DEFAULT_ENGINE.romanizeUtf8(input);
+	}
+
+	/**
+	 * Splits the name into its surname readings with the default options.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @return the lattice of the candidates.
+	 */
+	static RomanizationLattice lattice(String fullname) {
+		return DEFAULT_ENGINE.lattice(fullname);
 	}
 }
@@ -0,0 +1,373 @@
+package com.example.terry;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A command-line tool that romanizes a file of names.
+ * <p>
+ * The input is either one name per line, or CSV rows with the name in the given column.
+ * Every input line is written back followed by a separator and the romanized names joined with {@code |},
+ * in the same order as the input, while batches of lines are romanized on worker threads.
+ * CSV rows that cannot be parsed are written without romanized names, and the tool then exits with status 1.
+ *
+ * <pre>
+ * java com.example.terry.KoreanRomanizerCli [--threads N] [--column N] [--max-candidates N] input [output]
+ * </pre>
+ */
+public final class KoreanRomanizerCli {
+	private static final String USAGE = "Usage: KoreanRomanizerCli [--threads N] [--column N] [--max-candidates N] input [output]";
+
+	/**
+	 * Size of each chunk read from the input file.
+	 */
+	private static final int CHUNK_SIZE = 1 << 20;
+
+	/**
+	 * Number of lines romanized by one worker task.
+	 */
+	private static final int BATCH_SIZE = 4096;
+
+	/**
+	 * Interval between progress reports, in nanoseconds.
+	 */
+	private static final long PROGRESS_INTERVAL = 1_000_000_000L;
+
+	private final int threads;
+	private final int column;
+	private final int maxCandidates;
+
+	/**
+	 * Number of CSV rows whose fields cannot be parsed, which are written without romanized names.
+	 */
+	private final AtomicLong malformedRows = new AtomicLong();
+
+	private KoreanRomanizerCli(int threads, int column, int maxCandidates) {
+		this.threads = threads;
+		this.column = column;
+		this.maxCandidates = maxCandidates;
+	}
+
+	public static void main(String... args) throws IOException, InterruptedException {
+		int threads = Runtime.getRuntime().availableProcessors();
+		int column = -1;
+		int maxCandidates = 1000;
+		final List<String> paths = new ArrayList<>();
+
+		try {
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+					case "--threads":
+						threads = Integer.parseInt(args[++i]);
+						break;
+					case "--column":
+						column = Integer.parseInt(args[++i]);
+						break;
+					case "--max-candidates":
+						maxCandidates = Integer.parseInt(args[++i]);
+						break;
+					default:
+						paths.add(args[i]);
+						break;
+				}
+			}
+		} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			paths.clear();
+		}
+		if (paths.isEmpty() || paths.size() > 2 || threads < 1 || maxCandidates < 0) {
+			System.err.println(USAGE);
+			System.exit(2);
+			return;
+		}
+
+		final KoreanRomanizerCli cli = new KoreanRomanizerCli(threads, column, maxCandidates);
+		try (OutputStream output = (paths.size() == 2) ? new FileOutputStream(paths.get(1)) : new NonClosingOutputStream(new FileOutputStream(FileDescriptor.out))) {
+			cli.run(Paths.get(paths.get(0)), output);
+		}
+
+		if (cli.malformedRows.get() > 0) {
+			System.err.printf("%,d malformed CSV rows were not romanized%n", cli.malformedRows.get());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Romanizes every line of the input file into the output.
+	 * The reading thread splits the file into batches, the workers romanize them,
+	 * and a writer thread writes the results in input order, so that no stage waits for console I/O of another.
+	 */
+	private void run(Path input, OutputStream output) throws IOException, InterruptedException {
+		final ExecutorService workers = Executors.newFixedThreadPool(threads);
+		// Bounds the number of batches in flight, so that memory stays constant however large the file is.
+		final BlockingQueue<Future<byte[]>> pending = new ArrayBlockingQueue<>(threads * 4);
+		final Future<byte[]> endOfInput = CompletableFuture.completedFuture(null);
+
+		final Writer writer = new Writer(pending, new BufferedOutputStream(output, CHUNK_SIZE));
+		writer.start();
+		try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+			List<String> batch = new ArrayList<>(BATCH_SIZE);
+
+			// Stops reading as soon as the writer fails, instead of romanizing the rest of the file for nothing.
+			while (writer.failure == null && channel.read(buffer) >= 0) {
+				final byte[] bytes = buffer.array();
+				final int end = buffer.position();
+
+				int lineStart = 0;
+				for (int i = 0; i < end && writer.failure == null; i++) {
+					if (bytes[i] == '\n') {
+						batch.add(decodeLine(bytes, lineStart, i));
+						lineStart = i + 1;
+						if (batch.size() == BATCH_SIZE) {
+							pending.put(submit(workers, batch));
+							batch = new ArrayList<>(BATCH_SIZE);
+						}
+					}
+				}
+
+				if (lineStart == 0 && end == buffer.capacity()) {
+					// A single line is longer than the buffer.
+					buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(bytes, 0, end);
+				} else {
+					// Keep the incomplete last line at the start of the buffer for the next chunk.
+					System.arraycopy(bytes, lineStart, bytes, 0, end - lineStart);
+					buffer.position(end - lineStart);
+				}
+			}
+			if (writer.failure == null) {
+				if (buffer.position() > 0) {
+					batch.add(decodeLine(buffer.array(), 0, buffer.position()));
+				}
+				if (!batch.isEmpty()) {
+					pending.put(submit(workers, batch));
+				}
+			}
+		} finally {
+			pending.put(endOfInput);
+			writer.join();
+			workers.shutdown();
+		}
+
+		if (writer.failure != null) {
+			throw writer.failure;
+		}
+		writer.reportProgress(true);
+	}
+
+	private static String decodeLine(byte[] bytes, int from, int to) {
+		if (to > from && bytes[to - 1] == '\r') {
+			to--;
+		}
+		return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+	}
+
+	private Future<byte[]> submit(ExecutorService workers, List<String> lines) {
+		return workers.submit(() -> romanizeLines(lines));
+	}
+
+	private byte[] romanizeLines(List<String> lines) {
+		final StringBuilder builder = new StringBuilder(lines.size() * 64);
+		for (final String line : lines) {
+			builder.append(line).append(column < 0 ? '\t' : ',');
+
+			final String name = extractName(line);
+			if (name == null) {
+				malformedRows.incrementAndGet();
+			} else if (!name.isEmpty()) {
+				final List<String> fullNames = KoreanRomanizer.romanizeSurName(name, maxCandidates);
+				for (int i = 0; i < fullNames.size(); i++) {
+					if (i > 0) {
+						builder.append('|');
+					}
+					builder.append(fullNames.get(i));
+				}
+			}
+			builder.append('\n');
+		}
+		return builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Takes the name from a line: the whole line, or the configured column of a CSV row.
+	 * The fields of the row are parsed as in RFC 4180, where a quoted field may contain commas and doubled quotes,
+	 * and spaces around the fields are ignored.
+	 *
+	 * @return the name, empty if the row has no such column, or null if the row cannot be parsed,
+	 * such as a quoted field that is not closed on the same line.
+	 */
+	private String extractName(String line) {
+		if (column < 0) {
+			return line.trim();
+		}
+
+		int field = 0;
+		int i = 0;
+		while (true) {
+			while (i < line.length() && line.charAt(i) == ' ') {
+				i++;
+			}
+
+			final String value;
+			if (i < line.length() && line.charAt(i) == '"') {
+				final StringBuilder quoted = new StringBuilder();
+				i++;
+				while (true) {
+					if (i >= line.length()) {
+						return null;
+					}
+					final char character = line.charAt(i++);
+					if (character != '"') {
+						quoted.append(character);
+					} else if (i < line.length() && line.charAt(i) == '"') {
+						quoted.append('"');
+						i++;
+					} else {
+						break;
+					}
+				}
+				while (i < line.length() && line.charAt(i) == ' ') {
+					i++;
+				}
+				if (i < line.length() && line.charAt(i) != ',') {
+					return null;
+				}
+				value = quoted.toString();
+			} else {
+				final int end = line.indexOf(',', i);
+				value = line.substring(i, end < 0 ? line.length() : end);
+				if (value.indexOf('"') >= 0) {
+					return null;
+				}
+				i = end < 0 ? line.length() : end;
+			}
+
+			if (field == column) {
+				return value.trim();
+			}
+			if (i >= line.length()) {
+				return "";
+			}
+			field++;
+			i++;
+		}
+	}
+
+	/**
+	 * The standard output, which is flushed rather than closed at the end of a run, since it belongs to the JVM.
+	 * It wraps the file descriptor rather than {@link System#out}, which would hide write errors such as a full disk.
+	 */
+	private static final class NonClosingOutputStream extends FilterOutputStream {
+		NonClosingOutputStream(OutputStream output) {
+			super(output);
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) throws IOException {
+			out.write(bytes, offset, length);
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+	}
+
+	/**
+	 * Writes the romanized batches in input order and reports the progress to the standard error.
+	 */
+	private static final class Writer extends Thread {
+		private final BlockingQueue<Future<byte[]>> pending;
+		private final OutputStream output;
+		private final long startTime = System.nanoTime();
+		private long lastReport = startTime;
+		private long rows;
+		private volatile IOException failure;
+
+		Writer(BlockingQueue<Future<byte[]>> pending, OutputStream output) {
+			super("romanizer-writer");
+			this.pending = pending;
+			this.output = output;
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (true) {
+					final Future<byte[]> batch = pending.take();
+					final byte[] lines;
+					try {
+						lines = batch.get();
+					} catch (ExecutionException e) {
+						// Keep draining the queue, so that the reading thread is never blocked on it.
+						fail(new IOException(e.getCause()));
+						continue;
+					}
+					if (lines == null) {
+						break;
+					}
+					if (failure == null) {
+						try {
+							output.write(lines);
+						} catch (IOException e) {
+							fail(e);
+						}
+						rows += countLines(lines);
+						reportProgress(false);
+					}
+				}
+				output.flush();
+			} catch (IOException e) {
+				fail(e);
+			} catch (InterruptedException e) {
+				fail(new IOException(e));
+			}
+		}
+
+		private void fail(IOException e) {
+			if (failure == null) {
+				failure = e;
+			}
+		}
+
+		private static int countLines(byte[] lines) {
+			int count = 0;
+			for (final byte b : lines) {
+				if (b == '\n') {
+					count++;
+				}
+			}
+			return count;
+		}
+
+		void reportProgress(boolean done) {
+			final long now = System.nanoTime();
+			if (!done && now - lastReport < PROGRESS_INTERVAL) {
+				return;
+			}
+			lastReport = now;
+
+			final double seconds = Math.max(now - startTime, 1) / 1e9;
+			System.err.printf("%s%,d rows, %,.0f rows/sec%n", done ? "Done: " : "", rows, rows / seconds);
+		}
+	}
+}
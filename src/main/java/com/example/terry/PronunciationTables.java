@@ -0,0 +1,419 @@
+package com.example.terry;
+
+import com.example.terry.KoreanCharacter.Chosung;
+import com.example.terry.KoreanCharacter.ConsonantAssimilation;
+import com.example.terry.KoreanCharacter.Jongsung;
+import com.example.terry.KoreanCharacter.Jungsung;
+import com.example.terry.KoreanCharacter.Type;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * The pronunciations of every jamo in every context for one combination of options.
+ * <p>
+ * The rules of the {@link KoreanCharacter} enums are evaluated once for each neighbouring jamo and palatalizing vowel,
+ * and the results are cased when the tables are compiled, so building the options of a syllable is only lookups and concatenations.
+ */
+final class PronunciationTables {
+	/**
+	 * The number of jamo of each kind, as laid out in the Hangul Syllables block.
+	 */
+	private static final int CHOSUNG_COUNT = 19;
+	private static final int JUNGSUNG_COUNT = 21;
+	private static final int JONGSUNG_COUNT = 28;
+
+	/**
+	 * Index used when the neighbouring character is missing or not Hangul.
+	 */
+	private static final int NO_CHOSUNG = CHOSUNG_COUNT;
+	static final int NO_JONGSUNG = JONGSUNG_COUNT;
+	/**
+	 * Syllable index used when the next character is missing or not Hangul.
+	 */
+	static final int NO_SYLLABLE = -1;
+
+	/**
+	 * Pronunciations of the initial consonant, indexed by
+	 * [jongsung of the previous character, or {@link #NO_JONGSUNG}][chosung][1 if the vowel induces palatalization, else 0].
+	 */
+	private final String[][][][] chosungs;
+
+	/**
+	 * Pronunciations of the vowel, indexed by jungsung. No rule of a vowel depends on its neighbours.
+	 */
+	private final String[][] jungsungs;
+
+	/**
+	 * Pronunciations of the final consonant, indexed by
+	 * [jongsung][chosung of the next character, or {@link #NO_CHOSUNG}][1 if the next vowel induces palatalization, else 0].
+	 */
+	private final String[][][][] jongsungs;
+
+	/**
+	 * Whether each jungsung induces palatalization.
+	 */
+	private final boolean[] palatalizing;
+
+	/**
+	 * Cached {@link #typicalBytes()}, or null until it is first used. Racing threads build equal tables.
+	 */
+	private TypicalBytes typicalBytes;
+
+	/**
+	 * Compiles the tables from the rules of the {@link KoreanCharacter} enums.
+	 *
+	 * @param consonantAssimilation the assimilation to apply where it is ambiguous.
+	 * @param type the type of word, where {@link Type#NameTypical} only uses the default pronunciation of every jamo.
+	 * @param upperCase whether the pronunciations are in uppercase rather than lowercase.
+	 */
+	PronunciationTables(ConsonantAssimilation consonantAssimilation, Type type, boolean upperCase) {
+		this(new String[NO_JONGSUNG + 1][NO_CHOSUNG][2][], new String[JUNGSUNG_COUNT][],
+				new String[JONGSUNG_COUNT][NO_CHOSUNG + 1][2][], new boolean[JUNGSUNG_COUNT]);
+
+		final boolean contextual = (type != Type.NameTypical);
+		for (int palatal = 0; palatal < 2; palatal++) {
+			final Jungsung vowel = (palatal == 1) ? Jungsung.ㅣ : Jungsung.ㅏ;
+			for (final Chosung chosung : Chosung.values()) {
+				final KoreanCharacter current = new KoreanCharacter(chosung, vowel, Jongsung.NONE);
+				for (final Jongsung prevJongsung : Jongsung.values()) {
+					final KoreanCharacter prevCharacter = new KoreanCharacter(Chosung.ㅇ, Jungsung.ㅏ, prevJongsung);
+					chosungs[prevJongsung.ordinal()][chosung.ordinal()][palatal] = cased(contextual
+							? chosung.getComplexPronunciation(prevCharacter, current, consonantAssimilation, type) : chosung.defaultPronunciation, upperCase);
+				}
+				chosungs[NO_JONGSUNG][chosung.ordinal()][palatal] = cased(chosung.defaultPronunciation, upperCase);
+			}
+
+			for (final Jongsung jongsung : Jongsung.values()) {
+				for (final Chosung nextChosung : Chosung.values()) {
+					final KoreanCharacter nextCharacter = new KoreanCharacter(nextChosung, vowel, Jongsung.NONE);
+					jongsungs[jongsung.ordinal()][nextChosung.ordinal()][palatal] = cased(contextual
+							? jongsung.getComplexPronunciation(nextCharacter, consonantAssimilation, type) : jongsung.defaultPronunciation, upperCase);
+				}
+				jongsungs[jongsung.ordinal()][NO_CHOSUNG][palatal] = cased(jongsung.defaultPronunciation, upperCase);
+			}
+		}
+
+		for (final Jungsung jungsung : Jungsung.values()) {
+			jungsungs[jungsung.ordinal()] = cased(jungsung.getPronunciation(null, null), upperCase);
+			palatalizing[jungsung.ordinal()] = jungsung.isInducePalatalization();
+		}
+	}
+
+	/**
+	 * Constructor with tables that are already compiled, such as the ones generated at build time by {@link TableGenerator}.
+	 */
+	PronunciationTables(String[][][][] chosungs, String[][] jungsungs, String[][][][] jongsungs, boolean[] palatalizing) {
+		this.chosungs = chosungs;
+		this.jungsungs = jungsungs;
+		this.jongsungs = jongsungs;
+		this.palatalizing = palatalizing;
+	}
+
+	/**
+	 * Returns the tables of the options, which are the ones generated at build time for the default options,
+	 * so that the first romanization does not evaluate any rule.
+	 *
+	 * @param consonantAssimilation the assimilation to apply where it is ambiguous.
+	 * @param type the type of word.
+	 * @param upperCase whether the pronunciations are in uppercase rather than lowercase.
+	 * @return the tables.
+	 */
+	static PronunciationTables of(ConsonantAssimilation consonantAssimilation, Type type, boolean upperCase) {
+		if (type == Type.NameTypical && upperCase) {
+			final PronunciationTables tables = TableGenerator.precomputedPronunciationTables();
+			if (tables != null) {
+				return tables;
+			}
+		}
+		return new PronunciationTables(consonantAssimilation, type, upperCase);
+	}
+
+	String[][][][] getChosungs() {
+		return chosungs;
+	}
+
+	String[][] getJungsungs() {
+		return jungsungs;
+	}
+
+	String[][][][] getJongsungs() {
+		return jongsungs;
+	}
+
+	boolean[] getPalatalizing() {
+		return palatalizing;
+	}
+
+	private static String[] cased(String[] pronunciations, boolean upperCase) {
+		final String[] cased = new String[pronunciations.length];
+		for (int i = 0; i < pronunciations.length; i++) {
+			cased[i] = upperCase ? pronunciations[i].toUpperCase(Locale.ROOT) : pronunciations[i].toLowerCase(Locale.ROOT);
+		}
+		return cased;
+	}
+
+	/**
+	 * Builds the options of each syllable of the given name, which is a range of the name.
+	 * Like the original buffer-based generation, a character that is not Hangul discards everything before it,
+	 * so only the syllables after the last non-Hangul character are kept, and none if the name ends with one.
+	 * The characters outside the range are not used as neighbours.
+	 *
+	 * @param name the full name.
+	 * @param from the index of the first syllable of the given name.
+	 * @param to the index after the last syllable of the given name.
+	 * @return the distinct options of each syllable, and their costs.
+	 */
+	RomanizationLattice.Syllables syllables(String name, int from, int to) {
+		int start = from;
+		for (int i = from; i < to; i++) {
+			if (!KoreanCharacter.isKoreanCharacter(name.charAt(i))) {
+				start = i + 1;
+			}
+		}
+		if (start == to) {
+			return new RomanizationLattice.Syllables(new String[0][], new int[0][]);
+		}
+
+		final String[][] options = new String[to - start][];
+		final int[][] costs = new int[options.length][];
+		for (int i = start; i < to; i++) {
+			// Decomposed by index instead of through KoreanCharacter, so that its instances are never built.
+			final int current = name.charAt(i) - KoreanCharacter.KoreanLowerValue;
+			final int jungsung = current % (JUNGSUNG_COUNT * JONGSUNG_COUNT) / JONGSUNG_COUNT;
+			final int palatal = palatalizing[jungsung] ? 1 : 0;
+
+			final char prev = (i > from) ? name.charAt(i - 1) : 0;
+			final String[] chosungOptions = chosungs[KoreanCharacter.isKoreanCharacter(prev)
+					? (prev - KoreanCharacter.KoreanLowerValue) % JONGSUNG_COUNT : NO_JONGSUNG][current / (JUNGSUNG_COUNT * JONGSUNG_COUNT)][palatal];
+			final String[] jungsungOptions = jungsungs[jungsung];
+
+			final char next = (i < to - 1) ? name.charAt(i + 1) : 0;
+			final String[] jongsungOptions;
+			if (KoreanCharacter.isKoreanCharacter(next)) {
+				final int nextCharacter = next - KoreanCharacter.KoreanLowerValue;
+				jongsungOptions = jongsungs[current % JONGSUNG_COUNT][nextCharacter / (JUNGSUNG_COUNT * JONGSUNG_COUNT)]
+						[palatalizing[nextCharacter % (JUNGSUNG_COUNT * JONGSUNG_COUNT) / JONGSUNG_COUNT] ? 1 : 0];
+			} else {
+				jongsungOptions = jongsungs[current % JONGSUNG_COUNT][NO_CHOSUNG][0];
+			}
+
+			// Combined in this order so that the costs grow like the former positions in getRomanizedString.
+			// String.concat rather than +, which would bootstrap the string concatenation factory on the first romanization.
+			final String[] syllable = new String[chosungOptions.length * jungsungOptions.length * jongsungOptions.length];
+			final int[] syllableCosts = new int[syllable.length];
+			int index = 0;
+			for (int c = 0; c < chosungOptions.length; c++) {
+				for (int v = 0; v < jungsungOptions.length; v++) {
+					for (int f = 0; f < jongsungOptions.length; f++) {
+						syllable[index] = chosungOptions[c].concat(jungsungOptions[v]).concat(jongsungOptions[f]);
+						syllableCosts[index++] = c + v + f;
+					}
+				}
+			}
+			options[i - start] = syllable;
+			costs[i - start] = syllableCosts;
+		}
+		return RomanizationLattice.distinct(options, costs);
+	}
+
+	/**
+	 * Appends the most typical romanization of a run of Hangul syllables, which is the first option of each one.
+	 * The characters just outside the run are read as the neighbours of its first and last syllables,
+	 * so that a run split across the chunks of a stream is romanized like the whole run.
+	 *
+	 * @param text the text containing the run.
+	 * @param from the index of the first syllable of the run.
+	 * @param to the index after the last syllable of the run.
+	 * @param capitalize whether the first letter of the run is made uppercase.
+	 * @param output the output to append the romanization to.
+	 * @throws IOException if the output fails.
+	 */
+	void appendTypical(CharSequence text, int from, int to, boolean capitalize, Appendable output) throws IOException {
+		int prevJongsung = (from > 0 && KoreanCharacter.isKoreanCharacter(text.charAt(from - 1)))
+				? jongsung(text.charAt(from - 1) - KoreanCharacter.KoreanLowerValue) : NO_JONGSUNG;
+		int current = text.charAt(from) - KoreanCharacter.KoreanLowerValue;
+		for (int i = from; i < to; i++) {
+			final char next = (i + 1 < text.length()) ? text.charAt(i + 1) : 0;
+			final int nextSyllable = KoreanCharacter.isKoreanCharacter(next) ? next - KoreanCharacter.KoreanLowerValue : NO_SYLLABLE;
+
+			final String chosungPronunciation = typicalChosung(prevJongsung, current);
+			final String jungsungPronunciation = typicalJungsung(current);
+			final String jongsungPronunciation = typicalJongsung(current, nextSyllable);
+			if (capitalize && i == from) {
+				final String syllable = chosungPronunciation.concat(jungsungPronunciation).concat(jongsungPronunciation);
+				output.append(Character.toUpperCase(syllable.charAt(0))).append(syllable, 1, syllable.length());
+			} else {
+				output.append(chosungPronunciation).append(jungsungPronunciation).append(jongsungPronunciation);
+			}
+
+			prevJongsung = jongsung(current);
+			current = nextSyllable;
+		}
+	}
+
+	/**
+	 * @param syllable the index of a syllable, which is {@code character - KoreanLowerValue}.
+	 * @return the index of its jongsung, used as the previous jongsung of the next syllable.
+	 */
+	static int jongsung(int syllable) {
+		return syllable % JONGSUNG_COUNT;
+	}
+
+	/**
+	 * @param prevJongsung the jongsung of the previous syllable, or {@link #NO_JONGSUNG} if there is none.
+	 * @param syllable the index of the syllable.
+	 * @return the pronunciations of its initial consonant, which must not be modified.
+	 */
+	String[] chosungs(int prevJongsung, int syllable) {
+		return chosungs[prevJongsung][syllable / (JUNGSUNG_COUNT * JONGSUNG_COUNT)][palatal(syllable)];
+	}
+
+	/**
+	 * @param syllable the index of the syllable.
+	 * @return the pronunciations of its vowel, which must not be modified.
+	 */
+	String[] jungsungs(int syllable) {
+		return jungsungs[syllable % (JUNGSUNG_COUNT * JONGSUNG_COUNT) / JONGSUNG_COUNT];
+	}
+
+	/**
+	 * @param syllable the index of the syllable.
+	 * @param nextSyllable the index of the next syllable, or {@link #NO_SYLLABLE} if there is none.
+	 * @return the pronunciations of its final consonant, which must not be modified.
+	 */
+	String[] jongsungs(int syllable, int nextSyllable) {
+		return (nextSyllable == NO_SYLLABLE) ? jongsungs[jongsung(syllable)][NO_CHOSUNG][0]
+				: jongsungs[jongsung(syllable)][nextSyllable / (JUNGSUNG_COUNT * JONGSUNG_COUNT)][palatal(nextSyllable)];
+	}
+
+	/**
+	 * @param prevJongsung the jongsung of the previous syllable, or {@link #NO_JONGSUNG} if there is none.
+	 * @param syllable the index of the syllable.
+	 * @return the most typical pronunciation of its initial consonant.
+	 */
+	String typicalChosung(int prevJongsung, int syllable) {
+		return chosungs(prevJongsung, syllable)[0];
+	}
+
+	/**
+	 * @param syllable the index of the syllable.
+	 * @return the most typical pronunciation of its vowel.
+	 */
+	String typicalJungsung(int syllable) {
+		return jungsungs(syllable)[0];
+	}
+
+	/**
+	 * @param syllable the index of the syllable.
+	 * @param nextSyllable the index of the next syllable, or {@link #NO_SYLLABLE} if there is none.
+	 * @return the most typical pronunciation of its final consonant.
+	 */
+	String typicalJongsung(int syllable, int nextSyllable) {
+		return jongsungs(syllable, nextSyllable)[0];
+	}
+
+	private int palatal(int syllable) {
+		return palatalizing[syllable % (JUNGSUNG_COUNT * JONGSUNG_COUNT) / JONGSUNG_COUNT] ? 1 : 0;
+	}
+
+	/**
+	 * @return the most typical pronunciations as bytes, built on first use.
+	 */
+	TypicalBytes typicalBytes() {
+		TypicalBytes bytes = typicalBytes;
+		if (bytes == null) {
+			bytes = new TypicalBytes(this);
+			typicalBytes = bytes;
+		}
+		return bytes;
+	}
+
+	/**
+	 * The most typical pronunciations as ASCII bytes in flat arrays, so that romanizing UTF-8 neither creates
+	 * nor reads strings, and each lookup is a single index instead of a walk down the nested tables.
+	 */
+	static final class TypicalBytes {
+		/**
+		 * Indexed by [(jongsung of the previous character, or {@link #NO_JONGSUNG}) * CHOSUNG_COUNT + chosung] * 2 + palatal.
+		 */
+		private final byte[][] chosungs = new byte[(JONGSUNG_COUNT + 1) * CHOSUNG_COUNT * 2][];
+		private final byte[][] jungsungs = new byte[JUNGSUNG_COUNT][];
+		/**
+		 * Indexed by [jongsung * (CHOSUNG_COUNT + 1) + (chosung of the next character, or {@link #NO_CHOSUNG})] * 2 + palatal.
+		 */
+		private final byte[][] jongsungs = new byte[JONGSUNG_COUNT * (CHOSUNG_COUNT + 1) * 2][];
+		private final boolean[] palatalizing;
+		private final int maxLength;
+
+		private TypicalBytes(PronunciationTables tables) {
+			palatalizing = tables.palatalizing;
+
+			int maxChosung = 0;
+			for (int prevJongsung = 0; prevJongsung <= JONGSUNG_COUNT; prevJongsung++) {
+				for (int chosung = 0; chosung < CHOSUNG_COUNT; chosung++) {
+					for (int palatal = 0; palatal < 2; palatal++) {
+						final byte[] bytes = ascii(tables.chosungs[prevJongsung][chosung][palatal]);
+						chosungs[(prevJongsung * CHOSUNG_COUNT + chosung) * 2 + palatal] = bytes;
+						maxChosung = Math.max(maxChosung, bytes.length);
+					}
+				}
+			}
+			int maxJungsung = 0;
+			for (int jungsung = 0; jungsung < JUNGSUNG_COUNT; jungsung++) {
+				jungsungs[jungsung] = ascii(tables.jungsungs[jungsung]);
+				maxJungsung = Math.max(maxJungsung, jungsungs[jungsung].length);
+			}
+			int maxJongsung = 0;
+			for (int jongsung = 0; jongsung < JONGSUNG_COUNT; jongsung++) {
+				for (int nextChosung = 0; nextChosung <= CHOSUNG_COUNT; nextChosung++) {
+					for (int palatal = 0; palatal < 2; palatal++) {
+						final byte[] bytes = ascii(tables.jongsungs[jongsung][nextChosung][palatal]);
+						jongsungs[(jongsung * (CHOSUNG_COUNT + 1) + nextChosung) * 2 + palatal] = bytes;
+						maxJongsung = Math.max(maxJongsung, bytes.length);
+					}
+				}
+			}
+			maxLength = maxChosung + maxJungsung + maxJongsung;
+		}
+
+		private static byte[] ascii(String[] pronunciations) {
+			return (pronunciations == null) ? new byte[0] : pronunciations[0].getBytes(StandardCharsets.US_ASCII);
+		}
+
+		/**
+		 * @see PronunciationTables#typicalChosung(int, int)
+		 */
+		byte[] chosung(int prevJongsung, int syllable) {
+			return chosungs[(prevJongsung * CHOSUNG_COUNT + syllable / (JUNGSUNG_COUNT * JONGSUNG_COUNT)) * 2 + palatal(syllable)];
+		}
+
+		/**
+		 * @see PronunciationTables#typicalJungsung(int)
+		 */
+		byte[] jungsung(int syllable) {
+			return jungsungs[syllable % (JUNGSUNG_COUNT * JONGSUNG_COUNT) / JONGSUNG_COUNT];
+		}
+
+		/**
+		 * @see PronunciationTables#typicalJongsung(int, int)
+		 */
+		byte[] jongsung(int syllable, int nextSyllable) {
+			final int next = (nextSyllable == NO_SYLLABLE) ? NO_CHOSUNG * 2
+					: (nextSyllable / (JUNGSUNG_COUNT * JONGSUNG_COUNT)) * 2 + palatal(nextSyllable);
+			return jongsungs[PronunciationTables.jongsung(syllable) * (CHOSUNG_COUNT + 1) * 2 + next];
+		}
+
+		private int palatal(int syllable) {
+			return palatalizing[syllable % (JUNGSUNG_COUNT * JONGSUNG_COUNT) / JONGSUNG_COUNT] ? 1 : 0;
+		}
+
+		/**
+		 * @return the length of the longest typical romanization of a syllable, to size the outputs.
+		 */
+		int maxLength() {
+			return maxLength;
+		}
+	}
+}
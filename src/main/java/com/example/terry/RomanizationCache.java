@@ -0,0 +1,151 @@
+package com.example.terry;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache in front of {@link KoreanRomanizer#romanizeSurName(String)}.
+ * <p>
+ * The names are spread over independently locked segments, each of which evicts its least recently used name when full,
+ * so threads romanizing different names rarely contend. The cached lists are immutable and shared between callers.
+ * A name that is missed by several threads at once may be romanized more than once, but only one result is kept.
+ */
+public final class RomanizationCache {
+	private static final int MAX_SEGMENTS = 16;
+
+	private final Segment[] segments;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Constructor
+	 *
+	 * @param maximumSize
+	 * 		the maximum number of names to keep.
+	 * @throws IllegalArgumentException
+	 * 		if {@code maximumSize} is not positive.
+	 */
+	public RomanizationCache(int maximumSize) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("maximumSize should be positive.");
+		}
+
+		// Segments never hold more than their share, so the whole cache never holds more than maximumSize.
+		segments = new Segment[Integer.highestOneBit(Math.min(maximumSize, MAX_SEGMENTS))];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = new Segment(maximumSize / segments.length + (i < maximumSize % segments.length ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Romanize the surname, reusing the result of a recent call with the same name.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @return the immutable list of normalized names.
+	 */
+	public List<String> romanizeSurName(String fullname) {
+		Objects.requireNonNull(fullname, "String should not be null.");
+
+		final Segment segment = segments[spread(fullname.hashCode()) & (segments.length - 1)];
+		List<String> fullNames = segment.get(fullname);
+		if (fullNames != null) {
+			hits.increment();
+			KoreanRomanizer.getMetrics().recordCacheHit();
+			return fullNames;
+		}
+
+		misses.increment();
+		KoreanRomanizer.getMetrics().recordCacheMiss();
+		fullNames = List.copyOf(KoreanRomanizer.romanizeSurName(fullname));
+		return segment.putIfAbsent(fullname, fullNames);
+	}
+
+	/**
+	 * @return the number of calls served from the cache.
+	 */
+	public long hitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of calls that romanized the name.
+	 */
+	public long missCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of names evicted to stay within the maximum size.
+	 */
+	public long evictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * @return the number of names currently cached.
+	 */
+	public int size() {
+		int size = 0;
+		for (final Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Removes every cached name, keeping the counters.
+	 */
+	public void clear() {
+		for (final Segment segment : segments) {
+			segment.clear();
+		}
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * A least recently used map guarded by its own lock.
+	 */
+	private final class Segment {
+		private final Map<String, List<String>> map;
+
+		Segment(int maximumSize) {
+			this.map = new LinkedHashMap<String, List<String>>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+					if (size() > maximumSize) {
+						evictions.increment();
+						return true;
+					}
+					return false;
+				}
+			};
+		}
+
+		synchronized List<String> get(String fullname) {
+			return map.get(fullname);
+		}
+
+		synchronized List<String> putIfAbsent(String fullname, List<String> fullNames) {
+			final List<String> existing = map.putIfAbsent(fullname, fullNames);
+			return (existing != null) ? existing : fullNames;
+		}
+
+		synchronized int size() {
+			return map.size();
+		}
+
+		synchronized void clear() {
+			map.clear();
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.example.terry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A flight recorder event for a romanization call.
+ * <p>
+ * Only calls slower than the threshold are recorded by default, so continuous recordings catch pathological names
+ * without recording every call. Set {@code com.example.terry.Romanization#threshold} to {@code 0 ms} to record all of them.
+ * While the event is disabled, creating and committing it is optimized away by the JIT,
+ * and until the flight recorder is started, the event is not created at all, so that its classes are not loaded.
+ * <p>
+ * Names are personal data and recordings are often shared, so only the length and the hash of the name are recorded
+ * unless the {@value KoreanRomanizer#RECORD_NAMES_PROPERTY} system property is {@code true}.
+ */
+@Name("com.example.terry.Romanization")
+@Label("Romanization")
+@Category("Korean Romanizer")
+@Description("A call that romanized a Korean name")
+@StackTrace(false)
+@Threshold("1 ms")
+final class RomanizationEvent extends Event {
+	static final boolean RECORD_NAMES = Boolean.getBoolean(KoreanRomanizer.RECORD_NAMES_PROPERTY);
+
+	@Label("Name")
+	@Description("The romanized name, only recorded if the com.example.terry.recordNames system property is true")
+	String name;
+
+	@Label("Name Hash")
+	@Description("The String hash code of the name, which tells repeated names apart without recording them")
+	int nameHash;
+
+	@Label("Input Length")
+	int inputLength;
+
+	@Label("Candidate Count")
+	long candidateCount;
+
+	@Label("Surname Path")
+	@Description("How the surname was read: DOUBLE_SURNAME, TYPICAL_SURNAME, SYLLABLE or GIVEN_NAME_FALLBACK")
+	String surnamePath;
+}
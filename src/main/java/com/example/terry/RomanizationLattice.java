@@ -0,0 +1,654 @@
+package com.example.terry;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+
+/**
+ * The romanization candidates of a name, kept as the options of each part instead of the full product.
+ * <p>
+ * A lattice consists of segments, each of which is a list of surname options followed by one option array per syllable
+ * of the given name, so its memory grows with the sum of the option counts rather than their product.
+ * The candidates are built on demand, by iteration or by index, in the same order as {@link KoreanRomanizer#romanizeSurName(String)}:
+ * segment by segment, surname by surname, and for the given name with the first syllable changing fastest.
+ * <p>
+ * A lattice is an immutable {@link List}, so it can be shared between threads, cached and serialized as is,
+ * and {@link #toList()} copies the candidates into an ordinary list when they are all needed.
+ */
+public final class RomanizationLattice extends AbstractList<String> implements RandomAccess, Serializable {
+	/**
+	 * Required for serialization support.
+	 *
+	 * @see java.io.Serializable
+	 */
+	private static final long serialVersionUID = 4721839587520364193L;
+
+	/**
+	 * The options of each syllable of a given name.
+	 */
+	static final class Syllables {
+		/**
+		 * The options of each syllable, in the casing of the engine that built them.
+		 */
+		final String[][] options;
+
+		/**
+		 * How untypical each option is, which is the sum of the positions of its initial, middle and final pronunciations
+		 * in their arrays, so that {@code 0} is the default reading.
+		 */
+		final int[][] costs;
+
+		Syllables(String[][] options, int[][] costs) {
+			this.options = options;
+			this.costs = costs;
+		}
+	}
+
+	/**
+	 * One surname reading of the name.
+	 */
+	static final class Segment implements Serializable {
+		private static final long serialVersionUID = -6215404128836311752L;
+
+		/**
+		 * The surname options, or null if the candidates have no surname part.
+		 */
+		final String[] surnames;
+
+		/**
+		 * How untypical each surname option is, or null if it is its position in {@link #surnames}.
+		 */
+		final int[] surnameCosts;
+
+		/**
+		 * The options of each syllable of the given name.
+		 */
+		final String[][] syllables;
+
+		/**
+		 * How untypical each syllable option is.
+		 */
+		final int[][] costs;
+
+		/**
+		 * The number of candidates of this segment.
+		 */
+		final long size;
+
+		Segment(String[] surnames, int[] surnameCosts, Syllables givenName) {
+			this.surnames = surnames;
+			this.surnameCosts = surnameCosts;
+			this.syllables = givenName.options;
+			this.costs = givenName.costs;
+
+			long size = (syllables.length == 0) ? 0 : (surnames == null ? 1 : surnames.length);
+			for (final String[] options : syllables) {
+				size = multiply(size, options.length);
+			}
+			this.size = size;
+		}
+
+		private int surnameCost(int index) {
+			return (surnameCosts == null) ? index : surnameCosts[index];
+		}
+	}
+
+	private final Segment[] segments;
+
+	/**
+	 * The separator between the surname and the given name.
+	 */
+	private final String separator;
+
+	private final long size;
+
+	RomanizationLattice(Segment... segments) {
+		this(" ", segments);
+	}
+
+	RomanizationLattice(String separator, Segment... segments) {
+		this.segments = segments;
+		this.separator = separator;
+
+		long size = 0;
+		for (final Segment segment : segments) {
+			size = add(size, segment.size);
+		}
+		this.size = size;
+	}
+
+	/**
+	 * @return the number of candidates, or {@link Long#MAX_VALUE} if it overflows.
+	 */
+	public long longSize() {
+		return size;
+	}
+
+	/**
+	 * @return the number of candidates, or {@link Integer#MAX_VALUE} if there are more.
+	 */
+	@Override
+	public int size() {
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Builds the candidate at the index without building the ones before it.
+	 *
+	 * @param index the index of the candidate.
+	 * @return the normalized name.
+	 * @throws IndexOutOfBoundsException if the index is out of range.
+	 */
+	@Override
+	public String get(int index) {
+		Objects.checkIndex(index, size());
+
+		long remaining = index;
+		for (final Segment segment : segments) {
+			if (remaining >= segment.size) {
+				remaining -= segment.size;
+				continue;
+			}
+
+			final StringBuilder builder = new StringBuilder();
+			if (segment.surnames != null) {
+				final long givenNames = segment.size / segment.surnames.length;
+				builder.append(segment.surnames[(int) (remaining / givenNames)]).append(separator);
+				remaining %= givenNames;
+			}
+			for (final String[] options : segment.syllables) {
+				builder.append(options[(int) (remaining % options.length)]);
+				remaining /= options.length;
+			}
+			return builder.toString();
+		}
+		throw new IndexOutOfBoundsException(index);
+	}
+
+	/**
+	 * @return a new modifiable list of every candidate.
+	 */
+	public List<String> toList() {
+		final List<String> fullNames = new ArrayList<>(size());
+		final Cursor cursor = cursor();
+		final StringBuilder builder = new StringBuilder();
+		while (cursor.next(builder)) {
+			fullNames.add(builder.toString());
+		}
+		return fullNames;
+	}
+
+	/**
+	 * @return the number of surname readings of the name.
+	 */
+	public int getSegmentCount() {
+		return segments.length;
+	}
+
+	/**
+	 * @param segment the index of the surname reading.
+	 * @return the surname options of the reading, or null if its candidates have no surname part.
+	 */
+	public String[] getSurnames(int segment) {
+		final String[] surnames = segments[segment].surnames;
+		return (surnames == null) ? null : surnames.clone();
+	}
+
+	/**
+	 * @param segment the index of the surname reading.
+	 * @return the options of each syllable of the given name of the reading.
+	 * Syllables whose options could concatenate to the same string are merged into one entry of their distinct concatenations.
+	 */
+	public String[][] getSyllables(int segment) {
+		final String[][] syllables = segments[segment].syllables.clone();
+		for (int i = 0; i < syllables.length; i++) {
+			syllables[i] = syllables[i].clone();
+		}
+		return syllables;
+	}
+
+	/**
+	 * Removes the options that would build a candidate twice, keeping the first occurrence so that the order is stable.
+	 * <p>
+	 * Equal options of a syllable are merged into the first one, with the lowest of their costs.
+	 * Different choices can then only build the same string if an option of some syllable is a proper prefix
+	 * of another option of the same syllable, like {@code SA} and {@code SAY} before {@code YI} and {@code I}.
+	 * Such a syllable is merged with the next one into a single step of their distinct concatenations in candidate order,
+	 * until the options of the step are prefix-free or it is the last step, so duplicates are pruned as soon as their prefixes meet.
+	 * The default pronunciations never need merging, so this returns the arrays as is unless an option is repeated.
+	 */
+	static Syllables distinct(String[][] options, int[][] costs) {
+		boolean distinct = true;
+		for (int i = 0; i < options.length && distinct; i++) {
+			distinct = (i == options.length - 1) ? !hasDuplicates(options[i], options[i].length) : isPrefixFree(options[i], options[i].length);
+		}
+		if (distinct) {
+			return new Syllables(options, costs);
+		}
+
+		final List<String[]> stepOptions = new ArrayList<>(options.length);
+		final List<int[]> stepCosts = new ArrayList<>(options.length);
+		for (int i = 0; i < options.length; ) {
+			String[] step = options[i].clone();
+			int[] stepCost = costs[i].clone();
+			int length = removeDuplicates(step, stepCost, step.length);
+			for (i++; i < options.length && !isPrefixFree(step, length); i++) {
+				// The later syllable changes slower, like in the candidates.
+				final String[] merged = new String[length * options[i].length];
+				final int[] mergedCost = new int[merged.length];
+				for (int next = 0; next < options[i].length; next++) {
+					for (int previous = 0; previous < length; previous++) {
+						merged[next * length + previous] = step[previous] + options[i][next];
+						mergedCost[next * length + previous] = stepCost[previous] + costs[i][next];
+					}
+				}
+				step = merged;
+				stepCost = mergedCost;
+				length = removeDuplicates(step, stepCost, step.length);
+			}
+			stepOptions.add(Arrays.copyOf(step, length));
+			stepCosts.add(Arrays.copyOf(stepCost, length));
+		}
+		return new Syllables(stepOptions.toArray(new String[0][]), stepCosts.toArray(new int[0][]));
+	}
+
+	private static boolean hasDuplicates(String[] options, int length) {
+		for (int i = 0; i < length; i++) {
+			for (int j = i + 1; j < length; j++) {
+				if (options[i].equals(options[j])) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return true if the options are distinct and none of them starts with another one.
+	 */
+	private static boolean isPrefixFree(String[] options, int length) {
+		for (int i = 0; i < length; i++) {
+			for (int j = 0; j < length; j++) {
+				if (i != j && options[j].startsWith(options[i])) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Moves the first occurrence of each option to the front, keeping their order and the lowest cost of each.
+	 *
+	 * @return the number of distinct options.
+	 */
+	private static int removeDuplicates(String[] options, int[] costs, int length) {
+		int distinct = 0;
+		for (int i = 0; i < length; i++) {
+			int j = 0;
+			while (j < distinct && !options[j].equals(options[i])) {
+				j++;
+			}
+			if (j < distinct) {
+				costs[j] = Math.min(costs[j], costs[i]);
+			} else {
+				options[distinct] = options[i];
+				costs[distinct++] = costs[i];
+			}
+		}
+		return distinct;
+	}
+
+	static String[] toUpperCase(String[] strings) {
+		final String[] upperCases = new String[strings.length];
+		for (int i = 0; i < strings.length; i++) {
+			upperCases[i] = strings[i].toUpperCase(Locale.ROOT);
+		}
+		return upperCases;
+	}
+
+	/**
+	 * @return how the surname of the name was read, judging from the segments built by {@link KoreanRomanizer#romanizeLattice(String)}.
+	 */
+	RomanizationMetrics.SurnamePath getSurnamePath() {
+		if (segments.length > 1) {
+			return RomanizationMetrics.SurnamePath.DOUBLE_SURNAME;
+		}
+
+		final Segment segment = segments[0];
+		if (segment.surnames == null) {
+			return RomanizationMetrics.SurnamePath.GIVEN_NAME_FALLBACK;
+		}
+		return (segment.surnameCosts == null && segment.surnames.length > 0)
+				? RomanizationMetrics.SurnamePath.TYPICAL_SURNAME : RomanizationMetrics.SurnamePath.SYLLABLE;
+	}
+
+	/**
+	 * Collapses every syllable to its most typical option, keeping all the surname options.
+	 *
+	 * @return the lattice with one option per syllable.
+	 */
+	RomanizationLattice typical() {
+		final Segment[] typicalSegments = new Segment[segments.length];
+		for (int i = 0; i < segments.length; i++) {
+			final Segment segment = segments[i];
+			final String[][] options = new String[segment.syllables.length][];
+			final int[][] costs = new int[options.length][];
+			for (int j = 0; j < options.length; j++) {
+				int typical = 0;
+				for (int option = 1; option < segment.costs[j].length; option++) {
+					if (segment.costs[j][option] < segment.costs[j][typical]) {
+						typical = option;
+					}
+				}
+				options[j] = new String[] {segment.syllables[j][typical]};
+				costs[j] = new int[] {0};
+			}
+			typicalSegments[i] = new Segment(segment.surnames, segment.surnameCosts, new Syllables(options, costs));
+		}
+		return new RomanizationLattice(separator, typicalSegments);
+	}
+
+	/**
+	 * Checks whether any candidate equals the normalized romanized name, ignoring the case and the separator after the surname,
+	 * by tracking the positions of the name that the options seen so far can reach.
+	 * The work is linear in the number of syllables, not in the number of candidates.
+	 *
+	 * @param normalizedName the romanized name normalized by {@link RomanizedNameIndex#normalize(CharSequence)}.
+	 * @return true if a candidate matches.
+	 */
+	boolean matches(String normalizedName) {
+		boolean[] reachable = new boolean[normalizedName.length() + 1];
+		boolean[] next = new boolean[normalizedName.length() + 1];
+
+		for (final Segment segment : segments) {
+			if (segment.size == 0) {
+				continue;
+			}
+
+			Arrays.fill(reachable, false);
+			reachable[0] = true;
+			if (segment.surnames != null) {
+				step(normalizedName, reachable, next, segment.surnames);
+				final boolean[] swap = reachable;
+				reachable = next;
+				next = swap;
+			}
+			for (final String[] options : segment.syllables) {
+				step(normalizedName, reachable, next, options);
+				final boolean[] swap = reachable;
+				reachable = next;
+				next = swap;
+			}
+			if (reachable[normalizedName.length()]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void step(String normalizedName, boolean[] reachable, boolean[] next, String[] options) {
+		Arrays.fill(next, false);
+		for (int position = 0; position < reachable.length; position++) {
+			if (reachable[position]) {
+				for (final String option : options) {
+					if (normalizedName.regionMatches(true, position, option, 0, option.length())) {
+						next[position + option.length()] = true;
+					}
+				}
+			}
+		}
+	}
+
+	Cursor cursor() {
+		return new Cursor();
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		final Cursor cursor = cursor();
+		return new Iterator<String>() {
+			private final StringBuilder builder = new StringBuilder();
+			private String next = advance();
+
+			private String advance() {
+				return cursor.next(builder) ? builder.toString() : null;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public String next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+				final String current = next;
+				next = advance();
+				return current;
+			}
+		};
+	}
+
+	/**
+	 * An odometer over the options of the lattice, which writes one candidate at a time into a caller's buffer.
+	 */
+	final class Cursor {
+		private int segmentIndex = -1;
+		private int surnameIndex;
+		private int[] digits;
+
+		/**
+		 * Writes the next candidate into the builder, replacing its contents.
+		 *
+		 * @param builder the buffer to write into.
+		 * @return false if there are no more candidates.
+		 */
+		boolean next(StringBuilder builder) {
+			if (!advance()) {
+				return false;
+			}
+
+			final Segment segment = segments[segmentIndex];
+			builder.setLength(0);
+			if (segment.surnames != null) {
+				builder.append(segment.surnames[surnameIndex]).append(separator);
+			}
+			for (int i = 0; i < digits.length; i++) {
+				builder.append(segment.syllables[i][digits[i]]);
+			}
+			return true;
+		}
+
+		/**
+		 * Appends the current candidate to the output.
+		 *
+		 * @param output the output to append to.
+		 * @throws IOException if the output fails.
+		 */
+		void appendTo(Appendable output) throws IOException {
+			final Segment segment = segments[segmentIndex];
+			if (segment.surnames != null) {
+				output.append(segment.surnames[surnameIndex]).append(separator);
+			}
+			for (int i = 0; i < digits.length; i++) {
+				output.append(segment.syllables[i][digits[i]]);
+			}
+		}
+
+		/**
+		 * Moves to the next candidate.
+		 *
+		 * @return false if there are no more candidates.
+		 */
+		boolean advance() {
+			if (segmentIndex >= 0 && segmentIndex < segments.length) {
+				final Segment segment = segments[segmentIndex];
+				for (int i = 0; i < digits.length; i++) {
+					if (++digits[i] < segment.syllables[i].length) {
+						return true;
+					}
+					digits[i] = 0;
+				}
+				if (segment.surnames != null && ++surnameIndex < segment.surnames.length) {
+					return true;
+				}
+			}
+
+			while (++segmentIndex < segments.length) {
+				if (segments[segmentIndex].size > 0) {
+					surnameIndex = 0;
+					digits = new int[segments[segmentIndex].syllables.length];
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Finds the most typical candidates by a best-first search over the options,
+	 * ranking each candidate by the sum of the costs of its surname and syllable options.
+	 * Only the candidates that are popped from the queue and their successors are ever built,
+	 * so the work depends on {@code k} rather than on the size of the lattice.
+	 *
+	 * @param k the maximum number of candidates to return.
+	 * @return at most {@code k} candidates from the most typical, with ties in a deterministic order.
+	 */
+	List<String> best(int k) {
+		final PriorityQueue<State> queue = new PriorityQueue<>();
+		for (int i = 0; i < segments.length; i++) {
+			if (segments[i].size > 0) {
+				queue.add(new State(new Ranking(i), new int[segments[i].syllables.length + 1], 0));
+			}
+		}
+
+		final List<String> best = new ArrayList<>(Math.min(k, 16));
+		final StringBuilder builder = new StringBuilder();
+		while (best.size() < k && !queue.isEmpty()) {
+			final State state = queue.poll();
+			final Ranking ranking = state.ranking;
+
+			builder.setLength(0);
+			if (ranking.segment.surnames != null) {
+				builder.append(ranking.segment.surnames[ranking.order[0][state.digits[0]]]).append(separator);
+			}
+			for (int i = 1; i < state.digits.length; i++) {
+				builder.append(ranking.segment.syllables[i - 1][ranking.order[i][state.digits[i]]]);
+			}
+			best.add(builder.toString());
+
+			// Only move the coordinates from the last one moved, so that every combination is reached by exactly one path.
+			for (int i = state.pivot; i < state.digits.length; i++) {
+				if (state.digits[i] + 1 < ranking.order[i].length) {
+					final int[] digits = state.digits.clone();
+					digits[i]++;
+					queue.add(new State(ranking, digits, i));
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * The options of a segment sorted by cost, with the surname as the first coordinate.
+	 */
+	private final class Ranking {
+		final int segmentIndex;
+		final Segment segment;
+		final int[][] order;
+		final int[][] costs;
+
+		Ranking(int segmentIndex) {
+			this.segmentIndex = segmentIndex;
+			this.segment = segments[segmentIndex];
+			this.order = new int[segment.syllables.length + 1][];
+			this.costs = new int[order.length][];
+
+			final int surnames = (segment.surnames == null) ? 1 : segment.surnames.length;
+			final int[] surnameCosts = new int[surnames];
+			for (int i = 0; i < surnames; i++) {
+				surnameCosts[i] = (segment.surnames == null) ? 0 : segment.surnameCost(i);
+			}
+			sort(0, surnameCosts);
+			for (int i = 0; i < segment.costs.length; i++) {
+				sort(i + 1, segment.costs[i]);
+			}
+		}
+
+		private void sort(int coordinate, int[] unsortedCosts) {
+			final Integer[] indices = new Integer[unsortedCosts.length];
+			for (int i = 0; i < indices.length; i++) {
+				indices[i] = i;
+			}
+			Arrays.sort(indices, Comparator.comparingInt(i -> unsortedCosts[i]));
+
+			order[coordinate] = new int[indices.length];
+			costs[coordinate] = new int[indices.length];
+			for (int i = 0; i < indices.length; i++) {
+				order[coordinate][i] = indices[i];
+				costs[coordinate][i] = unsortedCosts[indices[i]];
+			}
+		}
+	}
+
+	private static final class State implements Comparable<State> {
+		final Ranking ranking;
+		final int[] digits;
+		final int pivot;
+		final int cost;
+
+		State(Ranking ranking, int[] digits, int pivot) {
+			this.ranking = ranking;
+			this.digits = digits;
+			this.pivot = pivot;
+
+			int cost = 0;
+			for (int i = 0; i < digits.length; i++) {
+				cost += ranking.costs[i][digits[i]];
+			}
+			this.cost = cost;
+		}
+
+		@Override
+		public int compareTo(State other) {
+			if (cost != other.cost) {
+				return Integer.compare(cost, other.cost);
+			}
+			if (ranking != other.ranking) {
+				return Integer.compare(ranking.segmentIndex, other.ranking.segmentIndex);
+			}
+			// Same order as the enumeration: the surname first, then the given name from its last syllable.
+			int compare = Integer.compare(ranking.order[0][digits[0]], ranking.order[0][other.digits[0]]);
+			for (int i = digits.length - 1; compare == 0 && i > 0; i--) {
+				compare = Integer.compare(ranking.order[i][digits[i]], ranking.order[i][other.digits[i]]);
+			}
+			return compare;
+		}
+	}
+
+	static long multiply(long a, long b) {
+		final long product = a * b;
+		if (a != 0 && (product / a != b || product < 0)) {
+			return Long.MAX_VALUE;
+		}
+		return product;
+	}
+
+	static long add(long a, long b) {
+		final long sum = a + b;
+		return (sum < 0) ? Long.MAX_VALUE : sum;
+	}
+}
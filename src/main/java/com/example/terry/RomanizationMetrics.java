@@ -0,0 +1,63 @@
+package com.example.terry;
+
+/**
+ * Receives a measurement of every romanization, for exporting to a metrics library.
+ * <p>
+ * Install an implementation with {@link KoreanRomanizer#setMetrics(RomanizationMetrics)}.
+ * The methods are called on the romanizing threads, so they must be thread-safe and fast.
+ * While {@link #NOOP} is installed, which is the default, the romanizer does not even read the clock.
+ */
+public interface RomanizationMetrics {
+	/**
+	 * The metrics that ignore every measurement.
+	 */
+	RomanizationMetrics NOOP = new RomanizationMetrics() {
+		@Override
+		public void recordRomanization(int inputLength, long candidateCount, SurnamePath surnamePath, long durationNanos) {
+		}
+	};
+
+	/**
+	 * How the surname of a name was read.
+	 */
+	enum SurnamePath {
+		/**
+		 * The first two syllables are a double surname, such as 남궁. The name is also read with a one-syllable surname.
+		 */
+		DOUBLE_SURNAME,
+		/**
+		 * The first syllable has typical surname spellings.
+		 */
+		TYPICAL_SURNAME,
+		/**
+		 * The first syllable has no surname rule, so it is romanized like any other syllable.
+		 */
+		SYLLABLE,
+		/**
+		 * No surname could be read, so the whole name is romanized as a given name.
+		 */
+		GIVEN_NAME_FALLBACK
+	}
+
+	/**
+	 * Called after a name is romanized.
+	 *
+	 * @param inputLength the length of the name.
+	 * @param candidateCount the number of romanized names returned.
+	 * @param surnamePath how the surname was read.
+	 * @param durationNanos the duration of the call, in nanoseconds.
+	 */
+	void recordRomanization(int inputLength, long candidateCount, SurnamePath surnamePath, long durationNanos);
+
+	/**
+	 * Called when a {@link RomanizationCache} serves a name without romanizing it.
+	 */
+	default void recordCacheHit() {
+	}
+
+	/**
+	 * Called when a {@link RomanizationCache} has to romanize a name.
+	 */
+	default void recordCacheMiss() {
+	}
+}
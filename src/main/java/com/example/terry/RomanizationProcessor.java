@@ -0,0 +1,286 @@
+package com.example.terry;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Flow.Processor} romanizing the names of a stream, such as the records of a message queue.
+ * <p>
+ * Up to {@code parallelism} names are romanized at once on the executor, and the results are emitted in input order.
+ * The processor never holds more than {@code bufferSize} names: it requests that many from upstream at first,
+ * and one more each time a result is delivered downstream, so a slow subscriber throttles the publisher
+ * instead of filling the memory.
+ * <p>
+ * Each {@link RomanizedName} holds the lazy {@link RomanizationLattice} of its name, so names with many candidates
+ * are emitted without building their candidates; the subscriber builds them one at a time as it reads them.
+ * <p>
+ * A processor accepts a single subscriber. If a name cannot be romanized, such as when the executor rejects it,
+ * the upstream subscription is cancelled and the error is passed to the subscriber. An empty name has no candidate.
+ */
+public final class RomanizationProcessor implements Flow.Processor<String, RomanizedName> {
+	private final Executor executor;
+	private final int parallelism;
+	private final int bufferSize;
+
+	/**
+	 * The names received and not started yet.
+	 */
+	private final Queue<String> names = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The started names in input order, only accessed by the thread running {@link #drain()}.
+	 */
+	private final Queue<Task> tasks = new ArrayDeque<>();
+
+	private final AtomicInteger running = new AtomicInteger();
+	private final AtomicLong requested = new AtomicLong();
+	private final AtomicInteger wip = new AtomicInteger();
+
+	private volatile Flow.Subscription upstream;
+	private volatile Flow.Subscriber<? super RomanizedName> downstream;
+	private boolean subscribed;
+	private volatile boolean upstreamDone;
+	private volatile Throwable error;
+	private volatile Throwable subscriptionError;
+	private volatile boolean cancelled;
+	private boolean terminated;
+
+	/**
+	 * Constructor with the common fork-join pool, as many names at once as there are processors, and {@link Flow#defaultBufferSize()}.
+	 */
+	public RomanizationProcessor() {
+		this(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors(), Flow.defaultBufferSize());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param executor the executor to romanize the names on.
+	 * @param parallelism the maximum number of names romanized at once.
+	 * @param bufferSize the maximum number of names held by the processor.
+	 * @throws IllegalArgumentException if {@code parallelism} or {@code bufferSize} is not positive.
+	 */
+	public RomanizationProcessor(Executor executor, int parallelism, int bufferSize) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism should be positive.");
+		}
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("bufferSize should be positive.");
+		}
+		this.executor = Objects.requireNonNull(executor, "Executor should not be null.");
+		this.parallelism = parallelism;
+		this.bufferSize = bufferSize;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super RomanizedName> subscriber) {
+		Objects.requireNonNull(subscriber, "Subscriber should not be null.");
+
+		final boolean first;
+		synchronized (this) {
+			first = !subscribed;
+			subscribed = true;
+		}
+		if (first) {
+			// Published only after onSubscribe returns, so that no other thread signals the subscriber before.
+			subscriber.onSubscribe(new Subscription());
+			downstream = subscriber;
+			drain();
+			return;
+		}
+		subscriber.onSubscribe(new Flow.Subscription() {
+			@Override
+			public void request(long n) {
+			}
+
+			@Override
+			public void cancel() {
+			}
+		});
+		subscriber.onError(new IllegalStateException("RomanizationProcessor only accepts a single subscriber."));
+	}
+
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		Objects.requireNonNull(subscription, "Subscription should not be null.");
+
+		if (upstream != null || cancelled) {
+			subscription.cancel();
+			return;
+		}
+		upstream = subscription;
+		subscription.request(bufferSize);
+	}
+
+	@Override
+	public void onNext(String name) {
+		names.add(Objects.requireNonNull(name, "String should not be null."));
+		drain();
+	}
+
+	@Override
+	public void onError(Throwable throwable) {
+		error = Objects.requireNonNull(throwable, "Throwable should not be null.");
+		upstreamDone = true;
+		drain();
+	}
+
+	@Override
+	public void onComplete() {
+		upstreamDone = true;
+		drain();
+	}
+
+	/**
+	 * Starts the waiting names, emits the finished results and signals the end of the stream, on one thread at a time.
+	 * A thread calling this while another one is draining only makes it loop once more.
+	 */
+	private void drain() {
+		if (wip.getAndIncrement() != 0) {
+			return;
+		}
+
+		int missed = 1;
+		do {
+			if (!terminated) {
+				if (cancelled) {
+					terminated = true;
+					names.clear();
+					tasks.clear();
+				} else {
+					startTasks();
+					emitResults();
+				}
+			}
+			missed = wip.addAndGet(-missed);
+		} while (missed != 0);
+	}
+
+	private void startTasks() {
+		String name;
+		while (running.get() < parallelism && (name = names.poll()) != null) {
+			final Task task = new Task(name);
+			tasks.add(task);
+			running.incrementAndGet();
+			try {
+				executor.execute(task);
+			} catch (RejectedExecutionException e) {
+				running.decrementAndGet();
+				task.error = e;
+				task.done = true;
+			}
+		}
+	}
+
+	private void emitResults() {
+		final Flow.Subscriber<? super RomanizedName> subscriber = downstream;
+		if (subscriber == null) {
+			return;
+		}
+
+		if (subscriptionError != null) {
+			fail(subscriber, subscriptionError);
+			return;
+		}
+
+		Task task;
+		while ((task = tasks.peek()) != null && task.done) {
+			if (task.error != null) {
+				fail(subscriber, task.error);
+				return;
+			}
+			if (requested.get() == 0) {
+				return;
+			}
+
+			tasks.poll();
+			requested.decrementAndGet();
+			subscriber.onNext(task.result);
+			if (cancelled) {
+				return;
+			}
+			upstream.request(1);
+			startTasks();
+		}
+
+		if (upstreamDone && tasks.isEmpty() && names.isEmpty()) {
+			terminated = true;
+			if (error != null) {
+				subscriber.onError(error);
+			} else {
+				subscriber.onComplete();
+			}
+		}
+	}
+
+	private void fail(Flow.Subscriber<? super RomanizedName> subscriber, Throwable throwable) {
+		terminated = true;
+		cancelled = true;
+		if (upstream != null) {
+			upstream.cancel();
+		}
+		names.clear();
+		tasks.clear();
+		subscriber.onError(throwable);
+	}
+
+	/**
+	 * The romanization of one name, run on the executor.
+	 */
+	private final class Task implements Runnable {
+		final String name;
+		RomanizedName result;
+		Throwable error;
+
+		/**
+		 * Written after the result or the error, so that reading it true makes them visible.
+		 */
+		volatile boolean done;
+
+		Task(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public void run() {
+			try {
+				result = new RomanizedName(name, KoreanRomanizer.romanizeLattice(name));
+			} catch (RuntimeException e) {
+				error = e;
+			}
+			done = true;
+			running.decrementAndGet();
+			drain();
+		}
+	}
+
+	private final class Subscription implements Flow.Subscription {
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				subscriptionError = new IllegalArgumentException("The number of requested items should be positive: " + n);
+				drain();
+				return;
+			}
+			requested.getAndUpdate(current -> (current + n < 0) ? Long.MAX_VALUE : current + n);
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			if (upstream != null) {
+				upstream.cancel();
+			}
+			drain();
+		}
+	}
+}
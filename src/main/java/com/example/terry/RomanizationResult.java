@@ -0,0 +1,64 @@
+package com.example.terry;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The names returned by {@link KoreanRomanizer#romanizeSurName(String, int)}, and how the budget changed them.
+ * <p>
+ * It is a list of the names, so it can be used as before, and it also tells whether the names were degraded
+ * to the most typical option of each syllable or truncated, without building the lattice a second time.
+ */
+public final class RomanizationResult extends AbstractList<String> implements RandomAccess {
+	private final List<String> names;
+	private final long candidateCount;
+	private final boolean typicalOnly;
+	private final boolean truncated;
+
+	RomanizationResult(List<String> names, long candidateCount, boolean typicalOnly, boolean truncated) {
+		this.names = names;
+		this.candidateCount = candidateCount;
+		this.typicalOnly = typicalOnly;
+		this.truncated = truncated;
+	}
+
+	@Override
+	public String get(int index) {
+		return names.get(index);
+	}
+
+	@Override
+	public int size() {
+		return names.size();
+	}
+
+	/**
+	 * @return the number of names without the budget, as {@link KoreanRomanizer#countCandidates(String)},
+	 * or {@link Long#MAX_VALUE} if it overflows.
+	 */
+	public long getCandidateCount() {
+		return candidateCount;
+	}
+
+	/**
+	 * @return true if the candidates exceeded the budget, so only the most typical option of each syllable was used.
+	 */
+	public boolean isTypicalOnly() {
+		return typicalOnly;
+	}
+
+	/**
+	 * @return true if even the most typical options exceeded the budget, so the names were cut to the budget.
+	 */
+	public boolean isTruncated() {
+		return truncated;
+	}
+
+	/**
+	 * @return true if the names are not every candidate, because they were degraded or truncated.
+	 */
+	public boolean isDegraded() {
+		return typicalOnly || truncated;
+	}
+}
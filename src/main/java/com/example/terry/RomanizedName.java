@@ -0,0 +1,51 @@
+package com.example.terry;
+
+import java.util.Objects;
+
+/**
+ * A Hangul name and its romanizations.
+ * <p>
+ * The romanizations are kept as a {@link RomanizationLattice}, so they take little memory however many there are,
+ * and each one is only built when it is read.
+ */
+public final class RomanizedName {
+	private final String name;
+	private final RomanizationLattice candidates;
+
+	/**
+	 * Constructor
+	 *
+	 * @param name the Hangul name.
+	 * @param candidates the romanizations of the name.
+	 */
+	public RomanizedName(String name, RomanizationLattice candidates) {
+		this.name = Objects.requireNonNull(name, "String should not be null.");
+		this.candidates = Objects.requireNonNull(candidates, "RomanizationLattice should not be null.");
+	}
+
+	/**
+	 * @return the Hangul name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the romanizations, in the same order as {@link KoreanRomanizer#romanizeSurName(String)}, built as they are read.
+	 */
+	public RomanizationLattice getCandidates() {
+		return candidates;
+	}
+
+	/**
+	 * @return the number of romanizations, or {@link Long#MAX_VALUE} if it overflows.
+	 */
+	public long getCandidateCount() {
+		return candidates.longSize();
+	}
+
+	@Override
+	public String toString() {
+		return name + "=" + candidates.longSize() + " candidates";
+	}
+}
@@ -0,0 +1,319 @@
+package com.example.terry;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An index from romanized names back to the records of their Hangul names.
+ * <p>
+ * Every candidate of {@link KoreanRomanizer#romanizeSurName(String)} is normalized with {@link #normalize(CharSequence)}
+ * and stored in a sorted dictionary, which is split into blocks of {@value #BLOCK_SIZE} keys.
+ * In each block, the first key is stored as is and the others only store the suffix after the prefix shared with the previous key.
+ * The record IDs of every key are stored in one flat array.
+ * A lookup binary searches the first keys of the blocks, then scans a single block.
+ */
+public final class RomanizedNameIndex {
+	/**
+	 * Number of keys in each front-coded block.
+	 */
+	private static final int BLOCK_SIZE = 16;
+
+	private static final int[] NO_IDS = new int[0];
+
+	/**
+	 * The front-coded keys: for each key, the shared prefix length and the suffix length as variable-length integers,
+	 * and the suffix bytes.
+	 */
+	private final byte[] keys;
+
+	/**
+	 * The offset of each block in {@link #keys}.
+	 */
+	private final int[] blockOffsets;
+
+	/**
+	 * The record IDs of every key, in key order.
+	 */
+	private final int[] ids;
+
+	/**
+	 * The offset of the IDs of each key in {@link #ids}, with the total number of IDs at the end.
+	 */
+	private final int[] idOffsets;
+
+	private RomanizedNameIndex(byte[] keys, int[] blockOffsets, int[] ids, int[] idOffsets) {
+		this.keys = keys;
+		this.blockOffsets = blockOffsets;
+		this.ids = ids;
+		this.idOffsets = idOffsets;
+	}
+
+	/**
+	 * @return a builder of a new index.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Normalizes a romanized name for comparison: letters are uppercased, and spaces, hyphens and any other characters are removed.
+	 *
+	 * @param romanizedName the romanized name.
+	 * @return the normalized name.
+	 */
+	public static String normalize(CharSequence romanizedName) {
+		final StringBuilder builder = new StringBuilder(romanizedName.length());
+		for (int i = 0; i < romanizedName.length(); i++) {
+			final char character = romanizedName.charAt(i);
+			if ('a' <= character && character <= 'z') {
+				builder.append((char) (character - 'a' + 'A'));
+			} else if ('A' <= character && character <= 'Z') {
+				builder.append(character);
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Finds the records whose Hangul name can be romanized as the given name.
+	 *
+	 * @param romanizedName the romanized name, in any case and with any spacing or hyphens.
+	 * @return the IDs of the matching records in ascending order, or an empty array if none.
+	 */
+	public int[] lookup(CharSequence romanizedName) {
+		Objects.requireNonNull(romanizedName, "CharSequence should not be null.");
+
+		final byte[] key = normalize(romanizedName).getBytes(StandardCharsets.US_ASCII);
+
+		// The last block whose first key is not greater than the key.
+		int low = 0;
+		int high = blockOffsets.length - 1;
+		while (low <= high) {
+			final int middle = (low + high) >>> 1;
+			// The first key of a block has no shared prefix, so it is stored as is after a zero byte.
+			final int offset = blockOffsets[middle] + 1;
+			final int length = readVarInt(keys, offset);
+			if (compare(keys, offset + varIntSize(length), length, key) <= 0) {
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		if (high < 0) {
+			return NO_IDS;
+		}
+
+		byte[] current = new byte[64];
+		int offset = blockOffsets[high];
+		final int end = (high + 1 < blockOffsets.length) ? blockOffsets[high + 1] : keys.length;
+		for (int ordinal = high * BLOCK_SIZE; offset < end; ordinal++) {
+			final int prefix = readVarInt(keys, offset);
+			offset += varIntSize(prefix);
+			final int suffix = readVarInt(keys, offset);
+			offset += varIntSize(suffix);
+
+			if (current.length < prefix + suffix) {
+				current = Arrays.copyOf(current, prefix + suffix);
+			}
+			System.arraycopy(keys, offset, current, prefix, suffix);
+			offset += suffix;
+
+			final int compare = compare(current, 0, prefix + suffix, key);
+			if (compare == 0) {
+				return Arrays.copyOfRange(ids, idOffsets[ordinal], idOffsets[ordinal + 1]);
+			}
+			if (compare > 0) {
+				break;
+			}
+		}
+		return NO_IDS;
+	}
+
+	/**
+	 * @return the number of distinct romanized names in the index.
+	 */
+	public int size() {
+		return idOffsets.length - 1;
+	}
+
+	private static int compare(byte[] bytes, int offset, int length, byte[] key) {
+		return Arrays.compare(bytes, offset, offset + length, key, 0, key.length);
+	}
+
+	private static int readVarInt(byte[] bytes, int offset) {
+		int value = 0;
+		for (int shift = 0; ; shift += 7) {
+			final byte b = bytes[offset++];
+			value |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+	}
+
+	private static int varIntSize(int value) {
+		int size = 1;
+		while ((value >>>= 7) != 0) {
+			size++;
+		}
+		return size;
+	}
+
+	private static void writeVarInt(ByteArrayOutputStream output, int value) {
+		while ((value & ~0x7F) != 0) {
+			output.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		output.write(value);
+	}
+
+	/**
+	 * Collects the records and builds the index.
+	 * <p>
+	 * Each distinct romanized name is kept once, and each candidate is packed into a single {@code long}
+	 * of the ordinal of its name and the record ID, so the builder holds no object per candidate.
+	 */
+	public static final class Builder {
+		/**
+		 * The ordinal of each distinct normalized name, in the order they were first added.
+		 */
+		private final Map<String, Integer> ordinals = new HashMap<>();
+
+		/**
+		 * The candidates added so far, as {@link #pack(int, int)} of the ordinal of the name and the record ID.
+		 */
+		private long[] entries = new long[1024];
+		private int entryCount;
+
+		private int maxCandidatesPerName = 1000;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the budget of {@link KoreanRomanizer#romanizeSurName(String, int)} used for each name, 1000 by default.
+		 *
+		 * @param maxCandidatesPerName the maximum number of romanized names per record.
+		 * @return this builder.
+		 */
+		public Builder maxCandidatesPerName(int maxCandidatesPerName) {
+			if (maxCandidatesPerName < 0) {
+				throw new IllegalArgumentException("maxCandidatesPerName should not be negative.");
+			}
+			this.maxCandidatesPerName = maxCandidatesPerName;
+			return this;
+		}
+
+		/**
+		 * Adds every romanization of a Hangul name, within the budget as {@link KoreanRomanizer#romanizeSurName(String, int)}.
+		 *
+		 * @param hangulName the Hangul name of the record.
+		 * @param id the ID of the record.
+		 * @return this builder.
+		 */
+		public Builder add(String hangulName, int id) {
+			RomanizationLattice lattice = KoreanRomanizer.lattice(hangulName);
+			if (lattice.longSize() > maxCandidatesPerName) {
+				lattice = lattice.typical();
+			}
+
+			int count = 0;
+			for (final String name : lattice) {
+				if (count++ == maxCandidatesPerName) {
+					break;
+				}
+				final Integer ordinal = ordinals.computeIfAbsent(normalize(name), key -> ordinals.size());
+				if (entryCount == entries.length) {
+					entries = Arrays.copyOf(entries, entryCount * 2);
+				}
+				entries[entryCount++] = pack(ordinal, id);
+			}
+			return this;
+		}
+
+		/**
+		 * @return the index of the records added so far.
+		 */
+		public RomanizedNameIndex build() {
+			final byte[][] names = new byte[ordinals.size()][];
+			for (final Map.Entry<String, Integer> entry : ordinals.entrySet()) {
+				names[entry.getValue()] = entry.getKey().getBytes(StandardCharsets.US_ASCII);
+			}
+
+			// Renumber the names in key order, so the packed entries sort by key, then by ID.
+			final Integer[] byKey = new Integer[names.length];
+			for (int i = 0; i < byKey.length; i++) {
+				byKey[i] = i;
+			}
+			Arrays.sort(byKey, (left, right) -> Arrays.compare(names[left], names[right]));
+			final int[] ranks = new int[names.length];
+			for (int rank = 0; rank < byKey.length; rank++) {
+				ranks[byKey[rank]] = rank;
+			}
+
+			final long[] sorted = new long[entryCount];
+			for (int i = 0; i < entryCount; i++) {
+				sorted[i] = pack(ranks[name(entries[i])], id(entries[i]));
+			}
+			Arrays.sort(sorted);
+
+			final ByteArrayOutputStream keys = new ByteArrayOutputStream();
+			final int[] blockOffsets = new int[(names.length + BLOCK_SIZE - 1) / BLOCK_SIZE];
+			final int[] ids = new int[sorted.length];
+			final int[] idOffsets = new int[names.length + 1];
+
+			int idCount = 0;
+			byte[] previous = null;
+			for (int i = 0; i < sorted.length; i++) {
+				if (i > 0 && sorted[i] == sorted[i - 1]) {
+					continue;
+				}
+				final int ordinal = name(sorted[i]);
+				if (i > 0 && ordinal == name(sorted[i - 1])) {
+					ids[idCount++] = id(sorted[i]);
+					continue;
+				}
+
+				final byte[] key = names[byKey[ordinal]];
+				int prefix = 0;
+				if (ordinal % BLOCK_SIZE == 0) {
+					blockOffsets[ordinal / BLOCK_SIZE] = keys.size();
+				} else {
+					final int limit = Math.min(previous.length, key.length);
+					while (prefix < limit && previous[prefix] == key[prefix]) {
+						prefix++;
+					}
+				}
+				writeVarInt(keys, prefix);
+				writeVarInt(keys, key.length - prefix);
+				keys.write(key, prefix, key.length - prefix);
+
+				idOffsets[ordinal] = idCount;
+				ids[idCount++] = id(sorted[i]);
+				previous = key;
+			}
+			idOffsets[names.length] = idCount;
+
+			return new RomanizedNameIndex(keys.toByteArray(), blockOffsets, Arrays.copyOf(ids, idCount), idOffsets);
+		}
+
+		/**
+		 * Packs the ordinal of a name above the record ID, whose sign bit is flipped so that the IDs sort as signed integers.
+		 */
+		private static long pack(int name, int id) {
+			return ((long) name << 32) | ((id ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+		}
+
+		private static int name(long entry) {
+			return (int) (entry >>> 32);
+		}
+
+		private static int id(long entry) {
+			return (int) entry ^ Integer.MIN_VALUE;
+		}
+	}
+}
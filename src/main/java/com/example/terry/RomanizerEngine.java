@@ -0,0 +1,633 @@
+package com.example.terry;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A romanizer for one combination of {@link RomanizerOptions}, built by {@link RomanizerOptions.Builder#build()}.
+ * <p>
+ * The pronunciation of every jamo in every context is compiled into tables when the engine is built,
+ * so romanizing with an engine is as fast as with {@link KoreanRomanizer}, whatever the options.
+ * Engines are immutable and thread-safe. They use the surname rules and the metrics installed in {@link KoreanRomanizer}.
+ */
+public final class RomanizerEngine {
+	/**
+	 * The maximum length of the given name after a double surname.
+	 */
+	private static final int MAX_DOUBLE_SURNAME_GIVEN_NAME = 10;
+
+	/**
+	 * Size of each chunk read by {@link #romanizeText(Reader, Writer)}.
+	 */
+	private static final int TEXT_BUFFER_SIZE = 8192;
+
+	private final RomanizerOptions options;
+	private final PronunciationTables tables;
+
+	/**
+	 * The surname rules of {@link KoreanRomanizer} in the casing of the options, compiled again when they are reloaded.
+	 */
+	private volatile CasedSurnameRules surnameRules;
+
+	RomanizerEngine(RomanizerOptions options) {
+		this.options = options;
+		this.tables = PronunciationTables.of(options.getConsonantAssimilation(), options.getType(),
+				options.getCasing() == RomanizerOptions.Casing.UPPER);
+	}
+
+	/**
+	 * @return the options the engine was built with.
+	 */
+	public RomanizerOptions getOptions() {
+		return options;
+	}
+
+	/**
+	 * Romanize the surname.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @return the list of normalized names, each of which appears once.
+	 * @see KoreanRomanizer#romanizeSurName(String)
+	 */
+	public List<String> romanizeSurName(String fullname) {
+		return KoreanRomanizer.romanizeSurName(this, fullname, new StringBuilder());
+	}
+
+	/**
+	 * Romanize the surname, keeping the number of names within a budget.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @param maxCandidates the maximum number of names to return.
+	 * @return the list of normalized names, with whether the budget degraded or truncated them.
+	 * @throws IllegalArgumentException if {@code maxCandidates} is negative.
+	 * @see KoreanRomanizer#romanizeSurName(String, int)
+	 */
+	public RomanizationResult romanizeSurName(String fullname, int maxCandidates) {
+		return KoreanRomanizer.romanizeSurName(this, fullname, maxCandidates);
+	}
+
+	/**
+	 * Romanize the surname into a lattice, which builds the names on demand.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @return the immutable list of normalized names, in the same order as {@link #romanizeSurName(String)}.
+	 * @see KoreanRomanizer#romanizeLattice(String)
+	 */
+	public RomanizationLattice romanizeLattice(String fullname) {
+		return lattice(fullname);
+	}
+
+	/**
+	 * Counts the names that {@link #romanizeSurName(String)} would return, without building them.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @return the number of normalized names, or {@link Long#MAX_VALUE} if it overflows.
+	 */
+	public long countCandidates(String fullname) {
+		return lattice(fullname).longSize();
+	}
+
+	/**
+	 * Returns the most typical romanizations of the name, without enumerating all of them.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @param k the maximum number of names to return.
+	 * @return at most {@code k} normalized names, from the most typical.
+	 * @throws IllegalArgumentException if {@code k} is negative.
+	 * @see KoreanRomanizer#romanizeTopK(String, int)
+	 */
+	public List<String> romanizeTopK(String fullname, int k) {
+		return KoreanRomanizer.romanizeTopK(this, fullname, k);
+	}
+
+	/**
+	 * Checks whether the romanized name is one of the romanizations of the Hangul name,
+	 * without enumerating the candidates. The case, spaces and hyphens of the romanized name are ignored.
+	 *
+	 * @param fullname the Hangul name.
+	 * @param romanizedName the romanized name to check.
+	 * @return true if {@link #romanizeSurName(String)} returns the romanized name, up to case, spaces, hyphens and separator.
+	 */
+	public boolean matches(String fullname, String romanizedName) {
+		Objects.requireNonNull(romanizedName, "String should not be null.");
+
+		return lattice(fullname).matches(RomanizedNameIndex.normalize(romanizedName.replace(options.getSeparator(), " ")));
+	}
+
+	/**
+	 * Romanizes the Hangul of a text that mixes scripts, such as an address or a free-text field,
+	 * and keeps every other character as it is.
+	 * Each run of Hangul syllables is written with its most typical reading, and the surname rules are not applied.
+	 * With {@link RomanizerOptions.Casing#CAPITALIZED}, the first letter of each run is made uppercase.
+	 * Syllables spelled out in jamo are composed first, see {@link KoreanCharacter#compose(char[], int, int)}.
+	 *
+	 * @param text the text to romanize.
+	 * @return the romanized text.
+	 */
+	public String romanizeText(CharSequence text) {
+		Objects.requireNonNull(text, "CharSequence should not be null.");
+
+		final CharSequence composed = KoreanCharacter.compose(text);
+		final StringBuilder builder = new StringBuilder(composed.length() * 3);
+		try {
+			romanizeText(composed, 0, composed.length(), builder);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Romanizes the Hangul of a text that mixes scripts, writing the text directly to the output.
+	 * The characters that are not Hangul are appended as ranges of the text, without creating an object per character.
+	 *
+	 * @param text the text to romanize.
+	 * @param output the output to append the romanized text to.
+	 * @throws IOException if the output fails.
+	 * @see #romanizeText(CharSequence)
+	 */
+	public void romanizeText(CharSequence text, Appendable output) throws IOException {
+		Objects.requireNonNull(text, "CharSequence should not be null.");
+		Objects.requireNonNull(output, "Appendable should not be null.");
+
+		final CharSequence composed = KoreanCharacter.compose(text);
+		romanizeText(composed, 0, composed.length(), output);
+	}
+
+	/**
+	 * Romanizes the Hangul of a text that mixes scripts, streaming it from the input to the output in chunks,
+	 * so that texts of any length, such as whole documents, are romanized in constant memory.
+	 * Syllables spelled out in jamo are composed like in the other overloads, even across chunks. Neither stream is closed.
+	 *
+	 * @param input the text to romanize.
+	 * @param output the output to write the romanized text to.
+	 * @throws IOException if the input or the output fails.
+	 * @see #romanizeText(CharSequence)
+	 */
+	public void romanizeText(Reader input, Writer output) throws IOException {
+		Objects.requireNonNull(input, "Reader should not be null.");
+		Objects.requireNonNull(output, "Writer should not be null.");
+
+		final char[] buffer = new char[TEXT_BUFFER_SIZE];
+		final CharBuffer text = CharBuffer.wrap(buffer);
+		int length = 0;
+		// The characters before this index are already written, and only kept as the neighbours of the next chunk.
+		int from = 0;
+		int read;
+		while ((read = input.read(buffer, length, buffer.length - length)) != -1) {
+			length += read;
+			if (length == from) {
+				continue;
+			}
+
+			// The characters that may still compose with the next chunk wait for it,
+			// unless they fill the whole buffer, such as a run of vowels, so that nothing could be written to make room for it.
+			int composable = composableEnd(buffer, from, length);
+			if (composable < 3 && length == buffer.length) {
+				composable = length;
+			}
+			final int composed = KoreanCharacter.compose(buffer, from, composable);
+			System.arraycopy(buffer, composable, buffer, composed, length - composable);
+			length -= composable - composed;
+
+			// A final syllable waits for the next chunk, which holds its next neighbour.
+			final int to = (composed > from && KoreanCharacter.isKoreanCharacter(buffer[composed - 1])) ? composed - 1 : composed;
+			text.limit(length);
+			romanizeText(text, from, to, output);
+
+			// Keep the waiting syllable and the character before it.
+			final int keep = Math.max(to - 1, 0);
+			System.arraycopy(buffer, keep, buffer, 0, length - keep);
+			from = to - keep;
+			length -= keep;
+		}
+		length = KoreanCharacter.compose(buffer, from, length);
+		text.limit(length);
+		romanizeText(text, from, length, output);
+	}
+
+	/**
+	 * Finds the characters at the end of a chunk that may still compose with the next one:
+	 * the jamo at the end from the last one that starts a syllable, or else all of them
+	 * and the syllable without a final consonant before them, which a final consonant could end.
+	 *
+	 * @return the index of the first of those characters, or {@code to} if there is none.
+	 */
+	private static int composableEnd(char[] buffer, int from, int to) {
+		int end = to;
+		while (end > from && KoreanCharacter.isJamo(buffer[end - 1])) {
+			end--;
+			final char character = buffer[end];
+			final boolean startsSyllable = KoreanCharacter.chosungOfJamo(character) >= 0 && (!KoreanCharacter.isCompatibilityJamo(character)
+					|| (end + 1 < to && KoreanCharacter.isCompatibilityJamo(buffer[end + 1]) && KoreanCharacter.jungsungOfJamo(buffer[end + 1]) >= 0));
+			if (startsSyllable) {
+				return end;
+			}
+		}
+		if (end > from && KoreanCharacter.isKoreanCharacter(buffer[end - 1]) && (buffer[end - 1] - KoreanCharacter.KoreanLowerValue) % 28 == 0) {
+			end--;
+		}
+		return end;
+	}
+
+	/**
+	 * Romanizes the Hangul of a UTF-8 text that mixes scripts, from the remaining bytes of the input to the output,
+	 * without decoding the text into characters or strings, such as the values of messages.
+	 * The bytes are read and written as by {@link #romanizeUtf8(MemorySegment, MemorySegment)}.
+	 * <p>
+	 * On success, the input is consumed and the output advanced past the written bytes.
+	 * If the output is too small, the positions are left unchanged; {@link #maxUtf8Length(int)} bytes are always enough.
+	 *
+	 * @param input the UTF-8 text to romanize, between its position and its limit.
+	 * @param output the buffer to write the romanized UTF-8 text to.
+	 * @throws BufferOverflowException if the output has not enough room for the romanized text.
+	 * @throws ReadOnlyBufferException if the output is read-only.
+	 * @see #romanizeText(CharSequence)
+	 */
+	public void romanizeUtf8(ByteBuffer input, ByteBuffer output) {
+		Objects.requireNonNull(input, "ByteBuffer should not be null.");
+		Objects.requireNonNull(output, "ByteBuffer should not be null.");
+		if (output.isReadOnly()) {
+			throw new ReadOnlyBufferException();
+		}
+
+		final long written = romanizeUtf8(MemorySegment.ofBuffer(input), MemorySegment.ofBuffer(output));
+		input.position(input.limit());
+		output.position(output.position() + (int) written);
+	}
+
+	/**
+	 * Romanizes the Hangul of a UTF-8 text that mixes scripts, from a memory segment to another,
+	 * such as a memory-mapped file, reading the bytes of the segment directly without decoding the text into characters or strings.
+	 * Hangul syllables are decoded from their three bytes on the fly, as are syllables spelled out in jamo,
+	 * which are composed as by {@link KoreanCharacter#compose(char[], int, int)}.
+	 * Every other byte is copied as it is, including malformed sequences.
+	 * <p>
+	 * The romanized text is written from the start of the output; {@link #maxUtf8Length(long)} bytes are always enough.
+	 *
+	 * @param input the UTF-8 text to romanize.
+	 * @param output the segment to write the romanized UTF-8 text to.
+	 * @return the number of bytes written.
+	 * @throws BufferOverflowException if the output has not enough room for the romanized text,
+	 * 		in which case the bytes of the output may have been overwritten.
+	 * @see #romanizeText(CharSequence)
+	 */
+	public long romanizeUtf8(MemorySegment input, MemorySegment output) {
+		Objects.requireNonNull(input, "MemorySegment should not be null.");
+		Objects.requireNonNull(output, "MemorySegment should not be null.");
+
+		final boolean capitalize = (options.getCasing() == RomanizerOptions.Casing.CAPITALIZED);
+		final PronunciationTables.TypicalBytes typical = tables.typicalBytes();
+		final long limit = input.byteSize();
+		long written = 0;
+		int prevJongsung = PronunciationTables.NO_JONGSUNG;
+		long i = 0;
+		int current = hangulSyllable(input, i, limit);
+		while (i < limit) {
+			if (current == PronunciationTables.NO_SYLLABLE) {
+				// Copy the bytes up to the next syllable at once.
+				long end = i + 1;
+				while (end < limit && (current = hangulSyllable(input, end, limit)) == PronunciationTables.NO_SYLLABLE) {
+					end++;
+				}
+				if (output.byteSize() - written < end - i) {
+					throw new BufferOverflowException();
+				}
+				MemorySegment.copy(input, i, output, written, end - i);
+				written += end - i;
+				prevJongsung = PronunciationTables.NO_JONGSUNG;
+				i = end;
+				continue;
+			}
+
+			final int syllable = current >> SYLLABLE_SHIFT;
+			final long end = i + (current & ENCODED_LENGTH_MASK);
+			final int next = hangulSyllable(input, end, limit);
+			final long runStart = written;
+			written = put(output, written, typical.chosung(prevJongsung, syllable));
+			written = put(output, written, typical.jungsung(syllable));
+			written = put(output, written, typical.jongsung(syllable, (next == PronunciationTables.NO_SYLLABLE) ? next : next >> SYLLABLE_SHIFT));
+			if (capitalize && prevJongsung == PronunciationTables.NO_JONGSUNG) {
+				final byte first = output.get(ValueLayout.JAVA_BYTE, runStart);
+				if (first >= 'a' && first <= 'z') {
+					output.set(ValueLayout.JAVA_BYTE, runStart, (byte) (first - ('a' - 'A')));
+				}
+			}
+
+			prevJongsung = PronunciationTables.jongsung(syllable);
+			i = end;
+			current = next;
+		}
+		return written;
+	}
+
+	/**
+	 * Writes the bytes to the output at the offset.
+	 *
+	 * @return the offset after the written bytes.
+	 */
+	private static long put(MemorySegment output, long offset, byte[] bytes) {
+		if (output.byteSize() - offset < bytes.length) {
+			throw new BufferOverflowException();
+		}
+		// The readings are a few bytes long, too short for a bulk copy to pay off.
+		for (int i = 0; i < bytes.length; i++) {
+			output.set(ValueLayout.JAVA_BYTE, offset + i, bytes[i]);
+		}
+		return offset + bytes.length;
+	}
+
+	/**
+	 * Romanizes the Hangul of a UTF-8 text that mixes scripts into a new array.
+	 *
+	 * @param input the UTF-8 text to romanize.
+	 * @return the romanized UTF-8 text.
+	 * @see #romanizeUtf8(ByteBuffer, ByteBuffer)
+	 */
+	public byte[] romanizeUtf8(byte[] input) {
+		Objects.requireNonNull(input, "byte[] should not be null.");
+
+		final ByteBuffer output = ByteBuffer.allocate(maxUtf8Length(input.length));
+		romanizeUtf8(ByteBuffer.wrap(input), output);
+		return Arrays.copyOf(output.array(), output.position());
+	}
+
+	/**
+	 * @param inputLength the number of bytes of a UTF-8 text.
+	 * @return the largest number of bytes {@link #romanizeUtf8(ByteBuffer, ByteBuffer)} can write for the text.
+	 * @throws ArithmeticException if the number does not fit in an {@code int}.
+	 */
+	public int maxUtf8Length(int inputLength) {
+		return Math.toIntExact(maxUtf8Length((long) inputLength));
+	}
+
+	/**
+	 * @param inputLength the number of bytes of a UTF-8 text.
+	 * @return the largest number of bytes {@link #romanizeUtf8(MemorySegment, MemorySegment)} can write for the text.
+	 */
+	public long maxUtf8Length(long inputLength) {
+		if (inputLength < 0) {
+			throw new IllegalArgumentException("inputLength should not be negative.");
+		}
+
+		// Each syllable of three bytes or more is written as at least three letters.
+		return Math.multiplyExact(inputLength / 3, Math.max(tables.typicalBytes().maxLength(), 3)) + inputLength % 3;
+	}
+
+	/**
+	 * The syllables decoded by {@link #hangulSyllable(MemorySegment, long, long)}, shifted left by this,
+	 * and the number of bytes they are encoded in, which is at most three jamo of three bytes.
+	 */
+	private static final int SYLLABLE_SHIFT = 4;
+	private static final int ENCODED_LENGTH_MASK = (1 << SYLLABLE_SHIFT) - 1;
+
+	/**
+	 * Decodes the Hangul syllable encoded at the index, if any, composing it if it is spelled out in jamo.
+	 *
+	 * @return the index of the syllable, which is {@code character - KoreanLowerValue}, shifted left by {@link #SYLLABLE_SHIFT}
+	 * plus the number of bytes it is encoded in, or {@link PronunciationTables#NO_SYLLABLE}.
+	 */
+	private static int hangulSyllable(MemorySegment input, long index, long limit) {
+		final char character = decodeThreeBytes(input, index, limit);
+		int syllable;
+		int length;
+		final boolean typed = KoreanCharacter.isCompatibilityJamo(character);
+		if (KoreanCharacter.isKoreanCharacter(character)) {
+			syllable = character - KoreanCharacter.KoreanLowerValue;
+			length = 3;
+			if (syllable % 28 != 0) {
+				return (syllable << SYLLABLE_SHIFT) | length;
+			}
+		} else {
+			final int chosung = KoreanCharacter.chosungOfJamo(character);
+			final char next = (chosung >= 0) ? decodeThreeBytes(input, index + 3, limit) : 0;
+			final int jungsung = (KoreanCharacter.isCompatibilityJamo(next) == typed) ? KoreanCharacter.jungsungOfJamo(next) : -1;
+			if (jungsung < 0) {
+				return PronunciationTables.NO_SYLLABLE;
+			}
+			syllable = (chosung * 21 + jungsung) * 28;
+			length = 6;
+		}
+
+		final int jongsung = KoreanCharacter.jongsungOfJamo(decodeThreeBytes(input, index + length, limit),
+				decodeThreeBytes(input, index + length + 3, limit), typed);
+		if (jongsung > 0) {
+			syllable += jongsung;
+			length += 3;
+		}
+		return (syllable << SYLLABLE_SHIFT) | length;
+	}
+
+	/**
+	 * Decodes the character encoded in three bytes at the index, which includes every syllable and jamo.
+	 *
+	 * @return the character, or 0 if the bytes at the index are not such a character.
+	 */
+	private static char decodeThreeBytes(MemorySegment input, long index, long limit) {
+		if (index + 2 >= limit) {
+			return 0;
+		}
+
+		// Encoded as 1110xxxx 10xxxxxx 10xxxxxx. Most bytes of a mixed text are ASCII, rejected by the first byte alone.
+		final int first = input.get(ValueLayout.JAVA_BYTE, index) & 0xFF;
+		if ((first & 0xF0) != 0xE0) {
+			return 0;
+		}
+		final int second = input.get(ValueLayout.JAVA_BYTE, index + 1) & 0xFF;
+		final int third = input.get(ValueLayout.JAVA_BYTE, index + 2) & 0xFF;
+		if ((second & 0xC0) != 0x80 || (third & 0xC0) != 0x80) {
+			return 0;
+		}
+		return (char) (((first & 0x0F) << 12) | ((second & 0x3F) << 6) | (third & 0x3F));
+	}
+
+	/**
+	 * Romanizes a range of the text. The characters just outside the range are read as the neighbours of its syllables.
+	 */
+	private void romanizeText(CharSequence text, int from, int to, Appendable output) throws IOException {
+		final boolean capitalize = (options.getCasing() == RomanizerOptions.Casing.CAPITALIZED);
+
+		int start = from;
+		while (start < to) {
+			int end = start;
+			while (end < to && !KoreanCharacter.isKoreanCharacter(text.charAt(end))) {
+				end++;
+			}
+			if (end > start) {
+				appendRange(text, start, end, output);
+				start = end;
+			}
+
+			while (end < to && KoreanCharacter.isKoreanCharacter(text.charAt(end))) {
+				end++;
+			}
+			if (end > start) {
+				tables.appendTypical(text, start, end,
+						capitalize && (start == 0 || !KoreanCharacter.isKoreanCharacter(text.charAt(start - 1))), output);
+				start = end;
+			}
+		}
+	}
+
+	/**
+	 * Appends the characters of the text as they are, writing them from the backing array when both sides allow it,
+	 * since {@link Writer#append(CharSequence, int, int)} copies the range into a new string.
+	 */
+	private static void appendRange(CharSequence text, int from, int to, Appendable output) throws IOException {
+		if (output instanceof Writer && text instanceof CharBuffer && ((CharBuffer) text).hasArray()) {
+			final CharBuffer buffer = (CharBuffer) text;
+			((Writer) output).write(buffer.array(), buffer.arrayOffset() + buffer.position() + from, to - from);
+		} else {
+			output.append(text, from, to);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "RomanizerEngine" + options.toString().substring("RomanizerOptions".length());
+	}
+
+	/**
+	 * Splits the name into its surname readings.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @return the lattice of the candidates, which is empty for an empty name.
+	 */
+	RomanizationLattice lattice(String fullname) {
+		Objects.requireNonNull(fullname, "String should not be null.");
+		final String name = KoreanCharacter.compose(fullname).toString();
+		if (name.isEmpty()) {
+			// No candidate, like a name without any Hangul syllable.
+			return new RomanizationLattice(options.getSeparator(), new RomanizationLattice.Segment(null, null, syllables(name, 0, 0)));
+		}
+
+		final char first = name.charAt(0);
+		final SurnameRules surnameRules = surnameRules();
+
+		final List<RomanizationLattice.Segment> segments = new ArrayList<>(3);
+
+		if (name.length() > 2) {
+			final int doubleSurname = surnameRules.findDoubleSurname(first, name.charAt(1));
+			final int givenNameEnd = doubleSurnameGivenNameEnd(name);
+			if (doubleSurname >= 0 && givenNameEnd >= 0) {
+				final RomanizationLattice.Syllables givenNames = syllables(name, 2, givenNameEnd);
+				segments.add(new RomanizationLattice.Segment(surnameRules.getDoubleSpellings(doubleSurname), null, givenNames));
+			}
+		}
+
+		final String[] surnames = surnameRules.getSpellings(first);
+		final RomanizationLattice.Syllables givenNames = syllables(name, 1, name.length());
+
+		if (surnames == null) {
+			final RomanizationLattice.Syllables surnamesTemp = syllables(name, 0, 1);
+			if (surnamesTemp.options.length == 0) {
+				segments.add(new RomanizationLattice.Segment(new String[0], null, givenNames));
+			} else {
+				segments.add(new RomanizationLattice.Segment(surnamesTemp.options[0], surnamesTemp.costs[0], givenNames));
+			}
+		} else {
+			segments.add(new RomanizationLattice.Segment(surnames, null, givenNames));
+		}
+
+		final RomanizationLattice lattice = new RomanizationLattice(options.getSeparator(), segments.toArray(new RomanizationLattice.Segment[0]));
+		if (surnames == null && lattice.longSize() == 0) {
+			return new RomanizationLattice(options.getSeparator(),
+					new RomanizationLattice.Segment(null, null, syllables(name, 0, name.length())));
+		}
+		return lattice;
+	}
+
+	/**
+	 * Builds the options of each syllable from the tables, capitalizing the first one if the options ask for it.
+	 */
+	private RomanizationLattice.Syllables syllables(String name, int from, int to) {
+		final RomanizationLattice.Syllables syllables = tables.syllables(name, from, to);
+		if (options.getCasing() != RomanizerOptions.Casing.CAPITALIZED || syllables.options.length == 0) {
+			return syllables;
+		}
+
+		final String[][] capitalized = syllables.options.clone();
+		capitalized[0] = new String[capitalized[0].length];
+		for (int i = 0; i < capitalized[0].length; i++) {
+			capitalized[0][i] = capitalize(syllables.options[0][i]);
+		}
+		return new RomanizationLattice.Syllables(capitalized, syllables.costs);
+	}
+
+	/**
+	 * @return the surname rules of {@link KoreanRomanizer} in the casing of the options.
+	 */
+	private SurnameRules surnameRules() {
+		final SurnameRules source = KoreanRomanizer.getSurnameRules();
+		if (options.getCasing() == RomanizerOptions.Casing.UPPER) {
+			return source;
+		}
+
+		CasedSurnameRules cased = surnameRules;
+		if (cased == null || cased.source != source) {
+			cased = new CasedSurnameRules(source, source.map(options.getCasing() == RomanizerOptions.Casing.LOWER
+					? spelling -> spelling.toLowerCase(Locale.ROOT) : RomanizerEngine::capitalize));
+			surnameRules = cased;
+		}
+		return cased.rules;
+	}
+
+	private static String capitalize(String spelling) {
+		return spelling.isEmpty() ? spelling
+				: spelling.substring(0, 1).toUpperCase(Locale.ROOT) + spelling.substring(1).toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Finds where the given name after a double surname ends, the way the former {@code ^(...)(.{1,10})$} pattern did:
+	 * it is 1 to 10 characters without line terminators, which may only be followed by a single final line terminator.
+	 *
+	 * @param fullname the name string to normalize.
+	 * @return the end index of the given name, or -1 if the name does not fit.
+	 */
+	private static int doubleSurnameGivenNameEnd(String fullname) {
+		int end = 2;
+		while (end < fullname.length() && !isLineTerminator(fullname.charAt(end))) {
+			end++;
+		}
+		if (end == 2 || end - 2 > MAX_DOUBLE_SURNAME_GIVEN_NAME) {
+			return -1;
+		}
+
+		final int remaining = fullname.length() - end;
+		if (remaining == 0 || remaining == 1
+				|| (remaining == 2 && fullname.charAt(end) == '\r' && fullname.charAt(end + 1) == '\n')) {
+			return end;
+		}
+		return -1;
+	}
+
+	private static boolean isLineTerminator(char character) {
+		return character == '\n' || character == '\r' || character == '\u0085' || character == '\u2028' || character == '\u2029';
+	}
+
+	/**
+	 * Surname rules in another casing, with the rules they were compiled from.
+	 */
+	private static final class CasedSurnameRules {
+		final SurnameRules source;
+		final SurnameRules rules;
+
+		CasedSurnameRules(SurnameRules source, SurnameRules rules) {
+			this.source = source;
+			this.rules = rules;
+		}
+	}
+}
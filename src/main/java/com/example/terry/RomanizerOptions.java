@@ -0,0 +1,146 @@
+package com.example.terry;
+
+import com.example.terry.KoreanCharacter.ConsonantAssimilation;
+import com.example.terry.KoreanCharacter.Type;
+
+import java.util.Objects;
+
+/**
+ * The options of a {@link RomanizerEngine}.
+ * <p>
+ * The default options are those of {@link KoreanRomanizer}: {@link Type#NameTypical}, uppercase, and a space after the surname.
+ * Other types apply the contextual rules of the {@link KoreanCharacter} enums, such as liaison and nasalization,
+ * with the given consonant assimilation where it is ambiguous.
+ *
+ * <pre>
+ * RomanizerEngine engine = RomanizerOptions.builder()
+ * 		.type(KoreanCharacter.Type.Name)
+ * 		.casing(RomanizerOptions.Casing.CAPITALIZED)
+ * 		.build();
+ * engine.romanizeSurName("박지성"); // [Park Jiseong, ...]
+ * </pre>
+ */
+public final class RomanizerOptions {
+	/**
+	 * The case of the romanized names.
+	 */
+	public enum Casing {
+		/**
+		 * {@code PARK JISEONG}
+		 */
+		UPPER,
+
+		/**
+		 * {@code park jiseong}
+		 */
+		LOWER,
+
+		/**
+		 * {@code Park Jiseong}
+		 */
+		CAPITALIZED
+	}
+
+	private final ConsonantAssimilation consonantAssimilation;
+	private final Type type;
+	private final Casing casing;
+	private final String separator;
+
+	private RomanizerOptions(Builder builder) {
+		this.consonantAssimilation = builder.consonantAssimilation;
+		this.type = builder.type;
+		this.casing = builder.casing;
+		this.separator = builder.separator;
+	}
+
+	/**
+	 * @return a builder with the default options.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public ConsonantAssimilation getConsonantAssimilation() {
+		return consonantAssimilation;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Casing getCasing() {
+		return casing;
+	}
+
+	public String getSeparator() {
+		return separator;
+	}
+
+	@Override
+	public String toString() {
+		return "RomanizerOptions{consonantAssimilation=" + consonantAssimilation + ", type=" + type
+				+ ", casing=" + casing + ", separator='" + separator + "'}";
+	}
+
+	/**
+	 * Collects the options and compiles them into an engine.
+	 */
+	public static final class Builder {
+		private ConsonantAssimilation consonantAssimilation = ConsonantAssimilation.Regressive;
+		private Type type = Type.NameTypical;
+		private Casing casing = Casing.UPPER;
+		private String separator = " ";
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the assimilation used where it is ambiguous, {@link ConsonantAssimilation#Regressive} by default.
+		 */
+		public Builder consonantAssimilation(ConsonantAssimilation consonantAssimilation) {
+			this.consonantAssimilation = Objects.requireNonNull(consonantAssimilation, "ConsonantAssimilation should not be null.");
+			return this;
+		}
+
+		/**
+		 * Sets the type of word, {@link Type#NameTypical} by default.
+		 */
+		public Builder type(Type type) {
+			this.type = Objects.requireNonNull(type, "Type should not be null.");
+			return this;
+		}
+
+		/**
+		 * Sets the case of the romanized names, {@link Casing#UPPER} by default.
+		 */
+		public Builder casing(Casing casing) {
+			this.casing = Objects.requireNonNull(casing, "Casing should not be null.");
+			return this;
+		}
+
+		/**
+		 * Sets the separator between the surname and the given name, a space by default.
+		 *
+		 * @throws IllegalArgumentException if the separator is empty or contains a letter,
+		 * which would let different readings of the name build the same string.
+		 */
+		public Builder separator(String separator) {
+			Objects.requireNonNull(separator, "String should not be null.");
+			if (separator.isEmpty() || separator.chars().anyMatch(Character::isLetter)) {
+				throw new IllegalArgumentException("The separator should not be empty or contain letters: " + separator);
+			}
+			this.separator = separator;
+			return this;
+		}
+
+		/**
+		 * Compiles the options into an engine with its own pronunciation tables.
+		 * Engines are immutable and thread-safe, so build one per combination of options and share it.
+		 *
+		 * @return the engine.
+		 */
+		public RomanizerEngine build() {
+			return new RomanizerEngine(new RomanizerOptions(this));
+		}
+	}
+}
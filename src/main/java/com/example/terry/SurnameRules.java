@@ -0,0 +1,380 @@
+package com.example.terry;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * The typical spellings of surnames, in tables indexed by syllable so that looking up a surname needs no hashing or substring.
+ * <p>
+ * One-syllable surnames are indexed by {@code character - KoreanLowerValue}.
+ * Double surnames are packed into a single {@code int} key of their two syllable offsets and binary searched.
+ * The spellings are stored in uppercase, the way they appear in the romanized names.
+ * <p>
+ * Rules are immutable once built, and can be saved to and loaded from a compact binary file.
+ */
+final class SurnameRules {
+	private static final int MAGIC = 0x4B525352;
+	private static final short VERSION = 1;
+	private static final int NO_RULE = 0xFF;
+
+	private static final int SYLLABLE_COUNT = KoreanCharacter.KoreanUpperValue - KoreanCharacter.KoreanLowerValue + 1;
+
+	/**
+	 * The spellings of each one-syllable surname, or null if it has no rule.
+	 */
+	private final String[][] singleSurnames;
+
+	/**
+	 * The packed keys of the double surnames, in ascending order.
+	 */
+	private final int[] doubleSurnameKeys;
+
+	/**
+	 * The spellings of each double surname in the same order as {@link #doubleSurnameKeys}, or null if it has no rule.
+	 */
+	private final String[][] doubleSurnames;
+
+	private SurnameRules(String[][] singleSurnames, int[] doubleSurnameKeys, String[][] doubleSurnames) {
+		this.singleSurnames = singleSurnames;
+		this.doubleSurnameKeys = doubleSurnameKeys;
+		this.doubleSurnames = doubleSurnames;
+	}
+
+	/**
+	 * Creates rules from tables that are already compiled, such as the ones generated at build time by {@link TableGenerator}.
+	 *
+	 * @param surnames the one-syllable surnames that have a rule.
+	 * @param spellings the spellings of each one-syllable surname.
+	 * @param doubleSurnameKeys the packed keys of the double surnames, in ascending order.
+	 * @param doubleSpellings the spellings of each double surname, or null if it has no rule.
+	 * @return the rules.
+	 */
+	static SurnameRules of(char[] surnames, String[][] spellings, int[] doubleSurnameKeys, String[][] doubleSpellings) {
+		final String[][] singleSurnames = new String[SYLLABLE_COUNT][];
+		for (int i = 0; i < surnames.length; i++) {
+			singleSurnames[surnames[i] - KoreanCharacter.KoreanLowerValue] = spellings[i];
+		}
+		return new SurnameRules(singleSurnames, doubleSurnameKeys, doubleSpellings);
+	}
+
+	/**
+	 * @param surname the first character of the name.
+	 * @return the spellings of the one-syllable surname, or null if it has no rule.
+	 */
+	String[] getSpellings(char surname) {
+		return KoreanCharacter.isKoreanCharacter(surname) ? singleSurnames[surname - KoreanCharacter.KoreanLowerValue] : null;
+	}
+
+	/**
+	 * @param first the first character of the name.
+	 * @param second the second character of the name.
+	 * @return the index of the double surname, or a negative value if the two characters are not one.
+	 */
+	int findDoubleSurname(char first, char second) {
+		if (!KoreanCharacter.isKoreanCharacter(first) || !KoreanCharacter.isKoreanCharacter(second)) {
+			return -1;
+		}
+		return Arrays.binarySearch(doubleSurnameKeys, key(first, second));
+	}
+
+	/**
+	 * @param index the index returned by {@link #findDoubleSurname(char, char)}.
+	 * @return the spellings of the double surname, or null if it has no rule.
+	 */
+	String[] getDoubleSpellings(int index) {
+		return doubleSurnames[index];
+	}
+
+	/**
+	 * @return the packed keys of the double surnames in ascending order, which must not be modified.
+	 */
+	int[] getDoubleSurnameKeys() {
+		return doubleSurnameKeys;
+	}
+
+	/**
+	 * Applies a function to every spelling, such as a change of case.
+	 * The function should map distinct spellings to distinct ones; repeated results are removed.
+	 *
+	 * @param function the function to apply.
+	 * @return the rules with the mapped spellings and the same surnames.
+	 */
+	SurnameRules map(UnaryOperator<String> function) {
+		return new SurnameRules(map(singleSurnames, function), doubleSurnameKeys, map(doubleSurnames, function));
+	}
+
+	private static String[][] map(String[][] surnames, UnaryOperator<String> function) {
+		final String[][] mapped = new String[surnames.length][];
+		for (int i = 0; i < surnames.length; i++) {
+			if (surnames[i] != null) {
+				mapped[i] = distinct(Arrays.stream(surnames[i]).map(function).toArray(String[]::new));
+			}
+		}
+		return mapped;
+	}
+
+	/**
+	 * Lays other rules over these ones: the surnames of the other rules take their spellings from them,
+	 * including the double surnames they declare without a rule, and every other surname keeps its spellings.
+	 *
+	 * @param overrides the rules to lay over these ones.
+	 * @return the rules with the surnames of both.
+	 */
+	SurnameRules overlay(SurnameRules overrides) {
+		final String[][] singleSurnames = this.singleSurnames.clone();
+		for (int i = 0; i < singleSurnames.length; i++) {
+			if (overrides.singleSurnames[i] != null) {
+				singleSurnames[i] = overrides.singleSurnames[i];
+			}
+		}
+
+		final int[] doubleSurnameKeys = new int[this.doubleSurnameKeys.length + overrides.doubleSurnameKeys.length];
+		final String[][] doubleSurnames = new String[doubleSurnameKeys.length][];
+		int count = 0;
+		int i = 0;
+		int j = 0;
+		while (i < this.doubleSurnameKeys.length || j < overrides.doubleSurnameKeys.length) {
+			if (j == overrides.doubleSurnameKeys.length
+					|| (i < this.doubleSurnameKeys.length && this.doubleSurnameKeys[i] < overrides.doubleSurnameKeys[j])) {
+				doubleSurnameKeys[count] = this.doubleSurnameKeys[i];
+				doubleSurnames[count++] = this.doubleSurnames[i++];
+			} else {
+				if (i < this.doubleSurnameKeys.length && this.doubleSurnameKeys[i] == overrides.doubleSurnameKeys[j]) {
+					i++;
+				}
+				doubleSurnameKeys[count] = overrides.doubleSurnameKeys[j];
+				doubleSurnames[count++] = overrides.doubleSurnames[j++];
+			}
+		}
+		return new SurnameRules(singleSurnames, Arrays.copyOf(doubleSurnameKeys, count), Arrays.copyOf(doubleSurnames, count));
+	}
+
+	private static int key(char first, char second) {
+		return (first - KoreanCharacter.KoreanLowerValue) * SYLLABLE_COUNT + (second - KoreanCharacter.KoreanLowerValue);
+	}
+
+	/**
+	 * Writes the rules in the binary format read by {@link #load(Path)}:
+	 * <pre>
+	 * int     magic ("KRSR")
+	 * short   version
+	 * int     number of one-syllable surnames
+	 * int     number of double surnames
+	 * one-syllable surnames: char syllable, spellings
+	 * double surnames:       char first syllable, char second syllable, spellings
+	 * spellings: byte count (0xFF if the surname has no rule), then each one as a short length and UTF-8 bytes
+	 * </pre>
+	 * Everything is big-endian, and the spellings are stored as they appear in the romanized names.
+	 *
+	 * @param path the file to write.
+	 * @throws IOException if the file cannot be written.
+	 */
+	void write(Path path) throws IOException {
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+			int singleCount = 0;
+			for (final String[] spellings : singleSurnames) {
+				if (spellings != null) {
+					singleCount++;
+				}
+			}
+
+			output.writeInt(MAGIC);
+			output.writeShort(VERSION);
+			output.writeInt(singleCount);
+			output.writeInt(doubleSurnameKeys.length);
+			for (int i = 0; i < singleSurnames.length; i++) {
+				if (singleSurnames[i] != null) {
+					output.writeChar(KoreanCharacter.KoreanLowerValue + i);
+					writeSpellings(output, singleSurnames[i]);
+				}
+			}
+			for (int i = 0; i < doubleSurnameKeys.length; i++) {
+				output.writeChar(KoreanCharacter.KoreanLowerValue + doubleSurnameKeys[i] / SYLLABLE_COUNT);
+				output.writeChar(KoreanCharacter.KoreanLowerValue + doubleSurnameKeys[i] % SYLLABLE_COUNT);
+				writeSpellings(output, doubleSurnames[i]);
+			}
+		}
+	}
+
+	private static void writeSpellings(DataOutputStream output, String[] spellings) throws IOException {
+		if (spellings == null) {
+			output.writeByte(NO_RULE);
+			return;
+		}
+		if (spellings.length >= NO_RULE) {
+			throw new IOException("Too many spellings: " + spellings.length);
+		}
+		output.writeByte(spellings.length);
+		for (final String spelling : spellings) {
+			final byte[] bytes = spelling.getBytes(StandardCharsets.UTF_8);
+			output.writeShort(bytes.length);
+			output.write(bytes);
+		}
+	}
+
+	/**
+	 * Reads rules written by {@link #write(Path)}.
+	 * The file is small, so it is read into memory at once and parsed from there.
+	 *
+	 * @param path the file to read.
+	 * @return the rules of the file.
+	 * @throws IOException if the file cannot be read or is not a valid rule file.
+	 */
+	static SurnameRules load(Path path) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+
+		try {
+			if (buffer.getInt() != MAGIC) {
+				throw new IOException("Not a surname rule file: " + path);
+			}
+			final int version = buffer.getShort();
+			if (version != VERSION) {
+				throw new IOException("Unsupported surname rule file version " + version + ": " + path);
+			}
+
+			final int singleCount = buffer.getInt();
+			final int doubleCount = buffer.getInt();
+			if (singleCount < 0 || singleCount > SYLLABLE_COUNT || doubleCount < 0) {
+				throw new IOException("Corrupted surname rule file: " + path);
+			}
+
+			final String[][] singleSurnames = new String[SYLLABLE_COUNT][];
+			for (int i = 0; i < singleCount; i++) {
+				final char surname = buffer.getChar();
+				if (!KoreanCharacter.isKoreanCharacter(surname)) {
+					throw new IOException("Corrupted surname rule file: " + path);
+				}
+				singleSurnames[surname - KoreanCharacter.KoreanLowerValue] = readSpellings(buffer);
+			}
+
+			final int[] doubleSurnameKeys = new int[doubleCount];
+			final String[][] doubleSurnames = new String[doubleCount][];
+			for (int i = 0; i < doubleCount; i++) {
+				final char first = buffer.getChar();
+				final char second = buffer.getChar();
+				if (!KoreanCharacter.isKoreanCharacter(first) || !KoreanCharacter.isKoreanCharacter(second)
+						|| (i > 0 && key(first, second) <= doubleSurnameKeys[i - 1])) {
+					throw new IOException("Corrupted surname rule file: " + path);
+				}
+				doubleSurnameKeys[i] = key(first, second);
+				doubleSurnames[i] = readSpellings(buffer);
+			}
+			return new SurnameRules(singleSurnames, doubleSurnameKeys, doubleSurnames);
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Truncated surname rule file: " + path, e);
+		}
+	}
+
+	private static String[] readSpellings(ByteBuffer buffer) {
+		final int count = buffer.get() & 0xFF;
+		if (count == NO_RULE) {
+			return null;
+		}
+
+		final String[] spellings = new String[count];
+		for (int i = 0; i < count; i++) {
+			final byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+			buffer.get(bytes);
+			spellings[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+		return distinct(spellings);
+	}
+
+	/**
+	 * Removes the repeated spellings, such as {@code Yi} and {@code YI} once uppercased, keeping the first occurrence of each.
+	 */
+	private static String[] distinct(String[] spellings) {
+		return Arrays.stream(spellings).distinct().toArray(String[]::new);
+	}
+
+	/**
+	 * Collects the rules and compiles them into tables.
+	 */
+	static final class Builder {
+		private final Map<String, String[]> spellings = new HashMap<>();
+		private final Map<Integer, String> doubleSurnames = new HashMap<>();
+
+		/**
+		 * Adds the typical spellings of a surname of one or two syllables.
+		 */
+		Builder add(String surname, String... spellings) {
+			Objects.requireNonNull(surname, "String should not be null.");
+			this.spellings.put(surname, spellings.clone());
+			return this;
+		}
+
+		/**
+		 * Declares a double surname, which is recognized even if it has no spelling rule.
+		 */
+		Builder addDoubleSurname(String surname) {
+			if (surname.length() != 2 || !KoreanCharacter.isKoreanCharacter(surname.charAt(0)) || !KoreanCharacter.isKoreanCharacter(surname.charAt(1))) {
+				throw new IllegalArgumentException("A double surname must be two Hangul syllables: " + surname);
+			}
+			doubleSurnames.put(key(surname.charAt(0), surname.charAt(1)), surname);
+			return this;
+		}
+
+		/**
+		 * Adds the rules of a text file, one surname per line followed by its spellings separated by spaces,
+		 * such as {@code 박 Park Pak Bak}. A double surname without spellings is declared without a rule,
+		 * and blank lines and lines starting with {@code #} are ignored.
+		 */
+		Builder addAll(BufferedReader reader) throws IOException {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+
+				final String[] fields = line.split("\\s+");
+				if (fields[0].length() == 2) {
+					addDoubleSurname(fields[0]);
+				} else if (fields[0].length() != 1 || !KoreanCharacter.isKoreanCharacter(fields[0].charAt(0))) {
+					throw new IllegalArgumentException("A surname must be one or two Hangul syllables: " + fields[0]);
+				}
+				if (fields.length > 1) {
+					add(fields[0], Arrays.copyOfRange(fields, 1, fields.length));
+				}
+			}
+			return this;
+		}
+
+		SurnameRules build() {
+			final String[][] singleSurnames = new String[SYLLABLE_COUNT][];
+			for (final Map.Entry<String, String[]> entry : spellings.entrySet()) {
+				final String surname = entry.getKey();
+				if (surname.length() == 1 && KoreanCharacter.isKoreanCharacter(surname.charAt(0))) {
+					singleSurnames[surname.charAt(0) - KoreanCharacter.KoreanLowerValue] = distinct(RomanizationLattice.toUpperCase(entry.getValue()));
+				}
+			}
+
+			final int[] doubleSurnameKeys = new int[doubleSurnames.size()];
+			int index = 0;
+			for (final int key : doubleSurnames.keySet()) {
+				doubleSurnameKeys[index++] = key;
+			}
+			Arrays.sort(doubleSurnameKeys);
+
+			final String[][] doubleSpellings = new String[doubleSurnameKeys.length][];
+			for (int i = 0; i < doubleSurnameKeys.length; i++) {
+				final String[] spellings = this.spellings.get(doubleSurnames.get(doubleSurnameKeys[i]));
+				doubleSpellings[i] = (spellings == null) ? null : distinct(RomanizationLattice.toUpperCase(spellings));
+			}
+
+			return new SurnameRules(singleSurnames, doubleSurnameKeys, doubleSpellings);
+		}
+	}
+}
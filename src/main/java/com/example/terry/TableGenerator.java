@@ -0,0 +1,216 @@
+package com.example.terry;
+
+import com.example.terry.KoreanCharacter.ConsonantAssimilation;
+import com.example.terry.KoreanCharacter.Type;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Generates the tables of the default options at build time, so that starting the romanizer evaluates no rule.
+ * <p>
+ * The build runs {@link #main(String...)} with the {@code java} launcher after compiling the sources,
+ * and the class is not part of the public API. It writes {@value #GENERATED_CLASS},
+ * a class of constant arrays holding the compiled {@link PronunciationTables} and {@link SurnameRules},
+ * which is then compiled with the other classes and hands its tables over when it is loaded.
+ * Loading it only fills arrays with shared strings, instead of loading the rule classes of {@link KoreanCharacter}
+ * and running them for every context.
+ * <p>
+ * When the class is missing, such as in a build that skips the generation, the tables are compiled at runtime as before.
+ * The class is generated again by every build, so it always matches the rules it is compiled with.
+ */
+final class TableGenerator {
+	/**
+	 * System property that disables the generated tables when set to {@code false}, to compare the startup with and without them.
+	 */
+	static final String PRECOMPUTED_TABLES_PROPERTY = "com.example.terry.precomputedTables";
+
+	static final String GENERATED_CLASS = "com.example.terry.PrecomputedTables";
+
+	/**
+	 * The pronunciation arrays written so far, by content, so that each distinct array is written once and shared.
+	 */
+	private final Map<String, String> constants = new HashMap<>();
+	private final StringBuilder constantDeclarations = new StringBuilder();
+
+	private TableGenerator() {
+	}
+
+	/**
+	 * Returns the pronunciation tables of the default options generated at build time.
+	 *
+	 * @return the tables, or null if the generated class is missing or disabled.
+	 */
+	static PronunciationTables precomputedPronunciationTables() {
+		return Precomputed.pronunciationTables;
+	}
+
+	/**
+	 * Returns the built-in surname rules generated at build time.
+	 *
+	 * @return the rules, or null if the generated class is missing or disabled.
+	 */
+	static SurnameRules precomputedSurnameRules() {
+		return Precomputed.surnameRules;
+	}
+
+	/**
+	 * Called by the generated class when it is initialized, which hands over its tables without reflection.
+	 * The tables can only be installed once, while the generated class is loaded.
+	 *
+	 * @throws IllegalStateException if the tables are already installed.
+	 */
+	static void install(PronunciationTables pronunciationTables, SurnameRules surnameRules) {
+		Objects.requireNonNull(pronunciationTables, "PronunciationTables should not be null.");
+		Objects.requireNonNull(surnameRules, "SurnameRules should not be null.");
+		if (Precomputed.pronunciationTables != null) {
+			throw new IllegalStateException("The precomputed tables are already installed.");
+		}
+		Precomputed.pronunciationTables = pronunciationTables;
+		Precomputed.surnameRules = surnameRules;
+	}
+
+	/**
+	 * Loads the generated class on first use, which installs its tables while this class is initialized.
+	 */
+	private static final class Precomputed {
+		private static PronunciationTables pronunciationTables;
+		private static SurnameRules surnameRules;
+
+		static {
+			if (!"false".equals(System.getProperty(PRECOMPUTED_TABLES_PROPERTY))) {
+				try {
+					Class.forName(GENERATED_CLASS);
+				} catch (ClassNotFoundException | LinkageError e) {
+					// Compiled at runtime instead.
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the generated class.
+	 *
+	 * @param args the source directory to write the class into.
+	 * @throws IOException if the class cannot be written.
+	 */
+	public static void main(String... args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: TableGenerator <generated source directory>");
+			System.exit(2);
+			return;
+		}
+
+		final Path file = Paths.get(args[0], GENERATED_CLASS.replace('.', '/') + ".java");
+		Files.createDirectories(file.getParent());
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write(new TableGenerator().generate(
+					new PronunciationTables(ConsonantAssimilation.Regressive, Type.NameTypical, true),
+					KoreanRomanizer.compileDefaultSurnameRules()));
+		}
+	}
+
+	/**
+	 * @return the source of the generated class.
+	 */
+	private String generate(PronunciationTables tables, SurnameRules rules) {
+		final StringBuilder fields = new StringBuilder();
+
+		fields.append("\tprivate static final PronunciationTables PRONUNCIATION_TABLES = new PronunciationTables(\n");
+		fields.append("\t\t\tnew String[][][][] ");
+		appendTable(fields, tables.getChosungs());
+		fields.append(",\n\t\t\tnew String[][] ");
+		appendTable(fields, tables.getJungsungs());
+		fields.append(",\n\t\t\tnew String[][][][] ");
+		appendTable(fields, tables.getJongsungs());
+		fields.append(",\n\t\t\tnew boolean[] ").append(Arrays.toString(tables.getPalatalizing()).replace('[', '{').replace(']', '}'));
+		fields.append(");\n\n");
+
+		final StringBuilder surnames = new StringBuilder();
+		final StringBuilder spellings = new StringBuilder();
+		for (char surname = KoreanCharacter.KoreanLowerValue; surname <= KoreanCharacter.KoreanUpperValue; surname++) {
+			final String[] surnameSpellings = rules.getSpellings(surname);
+			if (surnameSpellings != null) {
+				surnames.append(surnames.length() == 0 ? "" : ", ").append('\'').append(escape(surname)).append('\'');
+				spellings.append(spellings.length() == 0 ? "" : ", ").append(constant(surnameSpellings));
+			}
+		}
+		final StringBuilder doubleSpellings = new StringBuilder();
+		for (int i = 0; i < rules.getDoubleSurnameKeys().length; i++) {
+			doubleSpellings.append(i == 0 ? "" : ", ").append(constant(rules.getDoubleSpellings(i)));
+		}
+
+		fields.append("\tprivate static final SurnameRules SURNAME_RULES = SurnameRules.of(\n");
+		fields.append("\t\t\tnew char[] {").append(surnames).append("},\n");
+		fields.append("\t\t\tnew String[][] {").append(spellings).append("},\n");
+		fields.append("\t\t\tnew int[] ").append(Arrays.toString(rules.getDoubleSurnameKeys()).replace('[', '{').replace(']', '}')).append(",\n");
+		fields.append("\t\t\tnew String[][] {").append(doubleSpellings).append("});\n\n");
+		fields.append("\tstatic {\n\t\tTableGenerator.install(PRONUNCIATION_TABLES, SURNAME_RULES);\n\t}\n");
+
+		return "package com.example.terry;\n\n"
+				+ "/**\n"
+				+ " * The tables of the default options, generated by {@link TableGenerator} from the built-in rules. Do not edit.\n"
+				+ " */\n"
+				+ "final class " + GENERATED_CLASS.substring(GENERATED_CLASS.lastIndexOf('.') + 1) + " {\n"
+				+ constantDeclarations + "\n"
+				+ fields
+				+ "\n\tprivate " + GENERATED_CLASS.substring(GENERATED_CLASS.lastIndexOf('.') + 1) + "() {\n\t}\n"
+				+ "}\n";
+	}
+
+	/**
+	 * Appends a nested array of pronunciations, whose innermost arrays are shared constants.
+	 */
+	private void appendTable(StringBuilder builder, Object[] table) {
+		builder.append('{');
+		for (int i = 0; i < table.length; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			if (table[i] instanceof String[]) {
+				builder.append(constant((String[]) table[i]));
+			} else {
+				appendTable(builder, (Object[]) table[i]);
+			}
+		}
+		builder.append('}');
+	}
+
+	/**
+	 * @return the name of the constant holding the array, declaring it the first time, or {@code null} for a null array.
+	 */
+	private String constant(String[] strings) {
+		if (strings == null) {
+			return "null";
+		}
+
+		final StringBuilder literal = new StringBuilder("{");
+		for (int i = 0; i < strings.length; i++) {
+			literal.append(i == 0 ? "" : ", ").append('"');
+			for (int j = 0; j < strings[i].length(); j++) {
+				literal.append(escape(strings[i].charAt(j)));
+			}
+			literal.append('"');
+		}
+		literal.append('}');
+
+		return constants.computeIfAbsent(literal.toString(), key -> {
+			final String name = "P" + constants.size();
+			constantDeclarations.append("\tprivate static final String[] ").append(name).append(" = ").append(key).append(";\n");
+			return name;
+		});
+	}
+
+	private static String escape(char character) {
+		return (character >= 0x20 && character < 0x7F && character != '"' && character != '\'' && character != '\\')
+				? String.valueOf(character) : String.format("\\u%04X", (int) character);
+	}
+}
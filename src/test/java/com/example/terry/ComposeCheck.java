@@ -0,0 +1,132 @@
+package com.example.terry;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.text.Normalizer;
+import java.util.Random;
+
+/**
+ * Checks {@link KoreanCharacter#compose(CharSequence)} against {@link Normalizer} in NFC, on every syllable in NFD
+ * and on random mixes of syllables, jamo and other characters, and checks that names in NFD romanize as composed ones,
+ * also when streamed in chunks.
+ * <p>
+ * Run by the build in the {@code test} phase, and fails it by throwing.
+ */
+public final class ComposeCheck {
+	private ComposeCheck() {
+	}
+
+	public static void main(String... args) {
+		for (char syllable = KoreanCharacter.KoreanLowerValue; syllable <= KoreanCharacter.KoreanUpperValue; syllable++) {
+			check(Normalizer.normalize(String.valueOf(syllable), Normalizer.Form.NFD));
+		}
+
+		final Random random = new Random(3);
+		for (int trial = 0; trial < 100_000; trial++) {
+			final StringBuilder text = new StringBuilder();
+			for (int i = random.nextInt(10); i > 0; i--) {
+				switch (random.nextInt(6)) {
+					case 0:
+					case 1:
+						text.append((char) (KoreanCharacter.KoreanLowerValue + random.nextInt(11172)));
+						break;
+					case 2:
+						// Conjoining jamo, including the archaic ones that do not compose.
+						text.append((char) (0x1100 + random.nextInt(0x100)));
+						break;
+					case 3:
+						text.append("a -".charAt(random.nextInt(3)));
+						break;
+					case 4:
+						// A compatibility consonant, which NFC never attaches to a syllable.
+						text.append((char) (0x3131 + random.nextInt(30)));
+						break;
+					default:
+						// A syllable without a final consonant, which a trailing jamo can complete.
+						text.append((char) (KoreanCharacter.KoreanLowerValue + 28 * random.nextInt(399)));
+						break;
+				}
+			}
+			check(text.toString());
+			check(Normalizer.normalize(text, Normalizer.Form.NFD));
+		}
+
+		for (int trial = 0; trial < 10_000; trial++) {
+			final String name = DistinctCheck.randomName(random);
+			final String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+			if (!KoreanRomanizer.romanizeSurName(decomposed).equals(KoreanRomanizer.romanizeSurName(name))) {
+				throw new AssertionError(name + " in NFD does not romanize as composed.");
+			}
+		}
+
+		check("가ㅋㅋ");
+		check("감사합니다ㅎㅎ");
+		checkTyped("ㅂㅏㄱㅈㅣㅅㅓㅇ", "박지성");
+		checkTyped("ㄱㅏㅋㅋ", "갘ㅋ");
+		checkTyped("가ㅋㅋ ㄱㅏ", "가ㅋㅋ 가");
+		final String laughing = KoreanRomanizer.romanizeText("ㅋㅋ 가ㅋㅋ");
+		if (!laughing.equals("ㅋㅋ " + KoreanRomanizer.romanizeText("가") + "ㅋㅋ")) {
+			throw new AssertionError("ㅋㅋ 가ㅋㅋ should keep the laughter, but was " + laughing);
+		}
+
+		final StringBuilder names = new StringBuilder();
+		while (names.length() < 40_000) {
+			final String name = DistinctCheck.randomName(random);
+			names.append(random.nextBoolean() ? Normalizer.normalize(name, Normalizer.Form.NFD) : name);
+			names.append(random.nextInt(10) == 0 ? " ㅂㅏㄱㅈㅣㅅㅓㅇ ㅋㅋ\n" : ", ");
+		}
+		checkStreamed(names.toString(), Integer.MAX_VALUE);
+		checkStreamed(names.toString(), 7);
+		// A run of jamo longer than the buffer of the stream.
+		checkStreamed("박" + "ㄱㅏㅁ".repeat(10_000), Integer.MAX_VALUE);
+
+		final String composed = "박지성";
+		if (KoreanCharacter.compose(composed) != composed) {
+			throw new AssertionError("Composing a name without jamo should return it as is.");
+		}
+	}
+
+	private static void check(String text) {
+		final String expected = Normalizer.normalize(text, Normalizer.Form.NFC);
+		final String actual = KoreanCharacter.compose(text).toString();
+		if (!actual.equals(expected)) {
+			throw new AssertionError(codePoints(text) + ": expected " + codePoints(expected) + " but was " + codePoints(actual));
+		}
+	}
+
+	private static void checkTyped(String text, String expected) {
+		final String actual = KoreanCharacter.compose(text).toString();
+		if (!actual.equals(expected)) {
+			throw new AssertionError(text + ": expected " + expected + " but was " + actual);
+		}
+	}
+
+	/**
+	 * Checks that a text streamed from a reader, which reads at most the given number of characters at a time,
+	 * romanizes as the whole text does.
+	 */
+	private static void checkStreamed(String text, int chunk) {
+		final StringWriter output = new StringWriter();
+		try {
+			KoreanRomanizer.romanizeText(new StringReader(text) {
+				@Override
+				public int read(char[] buffer, int offset, int length) throws IOException {
+					return super.read(buffer, offset, Math.min(length, chunk));
+				}
+			}, output);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if (!output.toString().equals(KoreanRomanizer.romanizeText(text))) {
+			throw new AssertionError("Streaming in chunks of " + chunk + " characters does not romanize as the whole text.");
+		}
+	}
+
+	private static String codePoints(String text) {
+		final StringBuilder builder = new StringBuilder();
+		text.codePoints().forEach(codePoint -> builder.append(builder.length() == 0 ? "" : " ").append(String.format("U+%04X", codePoint)));
+		return builder.toString();
+	}
+}
@@ -0,0 +1,91 @@
+package com.example.terry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks {@link RomanizationLattice#distinct(String[][], int[][])} against removing the duplicates of every combination
+ * with a {@link LinkedHashSet}, on random options built from prefixes of each other, and checks that real names
+ * have no duplicate candidates.
+ * <p>
+ * Run by the build in the {@code test} phase, and fails it by throwing.
+ */
+public final class DistinctCheck {
+	private static final String[] ATOMS = {"", "A", "AB", "B", "BA", "ABA", "C"};
+
+	private DistinctCheck() {
+	}
+
+	public static void main(String... args) {
+		final Random random = new Random(3);
+		for (int trial = 0; trial < 200_000; trial++) {
+			final int syllableCount = 1 + random.nextInt(4);
+			final String[][] options = new String[syllableCount][];
+			final int[][] costs = new int[syllableCount][];
+			for (int i = 0; i < syllableCount; i++) {
+				options[i] = new String[1 + random.nextInt(4)];
+				costs[i] = new int[options[i].length];
+				for (int j = 0; j < options[i].length; j++) {
+					options[i][j] = ATOMS[random.nextInt(ATOMS.length)];
+					costs[i][j] = j;
+				}
+			}
+
+			final List<String> expected = new ArrayList<>(new LinkedHashSet<>(combinations(options)));
+			final List<String> actual = combinations(RomanizationLattice.distinct(options, costs).options);
+			if (!actual.equals(expected)) {
+				throw new AssertionError(Arrays.deepToString(options) + ": expected " + expected + " but was " + actual);
+			}
+		}
+
+		for (int trial = 0; trial < 20_000; trial++) {
+			final String name = randomName(random);
+			final List<String> candidates = KoreanRomanizer.romanizeSurName(name);
+			if (new HashSet<>(candidates).size() != candidates.size()) {
+				throw new AssertionError(name + " has duplicate candidates: " + candidates);
+			}
+		}
+	}
+
+	/**
+	 * @return every concatenation of one option of each syllable, the first syllable changing fastest like the candidates.
+	 */
+	private static List<String> combinations(String[][] options) {
+		final List<String> combinations = new ArrayList<>();
+		for (final String[] syllable : options) {
+			if (syllable.length == 0) {
+				return combinations;
+			}
+		}
+
+		final int[] indexes = new int[options.length];
+		while (true) {
+			final StringBuilder builder = new StringBuilder();
+			for (int i = 0; i < options.length; i++) {
+				builder.append(options[i][indexes[i]]);
+			}
+			combinations.add(builder.toString());
+
+			int i = 0;
+			while (i < options.length && ++indexes[i] == options[i].length) {
+				indexes[i++] = 0;
+			}
+			if (i == options.length) {
+				return combinations;
+			}
+		}
+	}
+
+	static String randomName(Random random) {
+		final StringBuilder name = new StringBuilder();
+		for (int i = 2 + random.nextInt(3); i > 0; i--) {
+			name.append((char) (KoreanCharacter.KoreanLowerValue
+					+ random.nextInt(KoreanCharacter.KoreanUpperValue - KoreanCharacter.KoreanLowerValue + 1)));
+		}
+		return name.toString();
+	}
+}
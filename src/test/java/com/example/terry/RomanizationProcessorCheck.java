@@ -0,0 +1,240 @@
+package com.example.terry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Checks that {@link RomanizationProcessor} emits the names in input order with the candidates of
+ * {@link KoreanRomanizer#romanizeSurName(String)}, never holds more than {@code bufferSize} names,
+ * and reports errors and invalid demand to its subscriber.
+ * <p>
+ * Run by the build in the {@code test} phase, and fails it by throwing.
+ */
+public final class RomanizationProcessorCheck {
+	private static final long TIMEOUT_SECONDS = 60;
+
+	private RomanizationProcessorCheck() {
+	}
+
+	public static void main(String... args) throws InterruptedException {
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final Random random = new Random(1);
+			final List<String> names = new ArrayList<>();
+			for (int i = 0; i < 5000; i++) {
+				// An empty name has no candidate, and passes through like any other name.
+				names.add((i % 1000 == 999) ? "" : DistinctCheck.randomName(random));
+			}
+			for (final int bufferSize : new int[] {1, 7, 256}) {
+				checkOrderAndDemand(executor, names, bufferSize);
+			}
+			checkError(executor);
+			checkInvalidDemand(executor);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Publishes the names as fast as they are requested to a subscriber requesting one at a time,
+	 * and measures how many names were published but not delivered yet.
+	 */
+	private static void checkOrderAndDemand(ExecutorService executor, List<String> names, int bufferSize) throws InterruptedException {
+		final RomanizationProcessor processor = new RomanizationProcessor(executor, 3, bufferSize);
+		final AtomicInteger published = new AtomicInteger();
+		final AtomicInteger delivered = new AtomicInteger();
+		final AtomicInteger maxHeld = new AtomicInteger();
+		final List<String> received = Collections.synchronizedList(new ArrayList<>());
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		final CountDownLatch done = new CountDownLatch(1);
+
+		processor.subscribe(new Flow.Subscriber<RomanizedName>() {
+			private Flow.Subscription subscription;
+
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				this.subscription = subscription;
+				subscription.request(1);
+			}
+
+			@Override
+			public void onNext(RomanizedName item) {
+				delivered.incrementAndGet();
+				received.add(item.getName());
+				if (!item.getCandidates().equals(KoreanRomanizer.romanizeSurName(item.getName()))) {
+					failure.compareAndSet(null, new AssertionError("Wrong candidates of " + item.getName()));
+				}
+				subscription.request(1);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				failure.compareAndSet(null, throwable);
+				done.countDown();
+			}
+
+			@Override
+			public void onComplete() {
+				done.countDown();
+			}
+		});
+
+		final Flow.Publisher<String> publisher = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+			private long requested;
+			private int next;
+			private boolean emitting;
+
+			@Override
+			public synchronized void request(long n) {
+				requested += n;
+				if (emitting) {
+					return;
+				}
+				emitting = true;
+				while (requested > 0 && next < names.size()) {
+					requested--;
+					maxHeld.accumulateAndGet(published.incrementAndGet() - delivered.get(), Math::max);
+					subscriber.onNext(names.get(next++));
+				}
+				emitting = false;
+				if (next == names.size()) {
+					next++;
+					subscriber.onComplete();
+				}
+			}
+
+			@Override
+			public void cancel() {
+			}
+		});
+		publisher.subscribe(processor);
+
+		await(done, "bufferSize " + bufferSize);
+		if (failure.get() != null) {
+			throw new AssertionError("bufferSize " + bufferSize, failure.get());
+		}
+		if (!received.equals(names)) {
+			throw new AssertionError("bufferSize " + bufferSize + ": the names were not emitted in input order.");
+		}
+		if (maxHeld.get() > bufferSize) {
+			throw new AssertionError("bufferSize " + bufferSize + ": held " + maxHeld.get() + " names at once.");
+		}
+	}
+
+	/**
+	 * A name that cannot be romanized, here because the executor rejects it, cancels the upstream subscription
+	 * and fails the stream after the names before it.
+	 */
+	private static void checkError(ExecutorService executor) throws InterruptedException {
+		final AtomicInteger executions = new AtomicInteger();
+		final RomanizationProcessor processor = new RomanizationProcessor(task -> {
+			if (executions.incrementAndGet() > 1) {
+				throw new RejectedExecutionException("Only one name is accepted.");
+			}
+			executor.execute(task);
+		}, 2, 16);
+		final AtomicBoolean upstreamCancelled = new AtomicBoolean();
+		final AtomicReference<Throwable> error = new AtomicReference<>();
+		final List<String> received = Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch done = new CountDownLatch(1);
+
+		processor.subscribe(new Flow.Subscriber<RomanizedName>() {
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+
+			@Override
+			public void onNext(RomanizedName item) {
+				received.add(item.getName());
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				error.set(throwable);
+				done.countDown();
+			}
+
+			@Override
+			public void onComplete() {
+				done.countDown();
+			}
+		});
+
+		processor.onSubscribe(new Flow.Subscription() {
+			@Override
+			public void request(long n) {
+			}
+
+			@Override
+			public void cancel() {
+				upstreamCancelled.set(true);
+			}
+		});
+		processor.onNext("박지성");
+		processor.onNext("김민");
+		processor.onNext("이순신");
+		processor.onComplete();
+
+		await(done, "the failing stream");
+		if (error.get() == null || !upstreamCancelled.get()) {
+			throw new AssertionError("A rejected name should fail the stream and cancel upstream.");
+		}
+		if (!received.equals(Collections.singletonList("박지성"))) {
+			throw new AssertionError("Only the names before the failure should be emitted: " + received);
+		}
+	}
+
+	/**
+	 * Requesting a non-positive number of names fails the stream with an IllegalArgumentException, as the specification requires.
+	 */
+	private static void checkInvalidDemand(ExecutorService executor) throws InterruptedException {
+		final RomanizationProcessor processor = new RomanizationProcessor(executor, 2, 16);
+		final AtomicReference<Throwable> error = new AtomicReference<>();
+		final CountDownLatch done = new CountDownLatch(1);
+
+		processor.subscribe(new Flow.Subscriber<RomanizedName>() {
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				subscription.request(0);
+			}
+
+			@Override
+			public void onNext(RomanizedName item) {
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				error.set(throwable);
+				done.countDown();
+			}
+
+			@Override
+			public void onComplete() {
+				done.countDown();
+			}
+		});
+
+		await(done, "the invalid demand");
+		if (!(error.get() instanceof IllegalArgumentException)) {
+			throw new AssertionError("request(0) should fail with an IllegalArgumentException: " + error.get());
+		}
+	}
+
+	private static void await(CountDownLatch latch, String what) throws InterruptedException {
+		if (!latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+			throw new AssertionError("Timed out waiting for " + what);
+		}
+	}
+}
@@ -5,10 +5,13 @@ import java.util.Scanner;
 
 public class testRomanizer {
     public static void main(String... args) {
-        while(true) {
-            Scanner scanner = new Scanner(System.in);
+        Scanner scanner = new Scanner(System.in);
 
+        while(true) {
             System.out.print("한국어 텍스트를 입력하세요: ");
+            if (!scanner.hasNextLine()) {
+                break;
+            }
             String name = scanner.nextLine();
             System.out.println("추천이름");
             List<String> recommendedNames = KoreanRomanizer.romanizeSurName(name);